@@ -34,23 +34,20 @@ public class AsciizBinder implements Binder {
      */
     public void bind(EachContext context, Object dstBean, Field field) throws IOException {
         DefaultEachContext eachContext = (DefaultEachContext) context;
-        String sizeScript = element.getValue(field);
+        String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, "sizeScript: " + sizeScript);
         if (!sizeScript.isEmpty()) {
-            eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue(); // size means array size
+            eachContext.size = eachContext.evalSize(); // size means array size
         }
         if (eachContext.size == 0) throw new IllegalStateException("size must be set for: " + field.getName());
 
         Class<?> fieldClass = field.getType();
         if (fieldClass.equals(String.class)) {
             byte[] bytes = asciiz(eachContext);
-            String encoding = element.getEncoding(field);
-            if (encoding.isEmpty()) {
-                encoding = serdes.encoding(dstBean.getClass());
-            }
-            if (!encoding.isEmpty()) {
-logger.log(Level.DEBUG, encoding);
-                context.setValue(new String(bytes, Charset.forName(encoding)));
+            Charset charset = eachContext.entry.charset;
+            if (charset != null) {
+logger.log(Level.DEBUG, charset);
+                context.setValue(new String(bytes, charset));
             } else {
 logger.log(Level.DEBUG, () -> "no encoding: " + bytes.length + " bytes\n" + StringUtil.getDump(bytes));
                 context.setValue(new String(bytes));
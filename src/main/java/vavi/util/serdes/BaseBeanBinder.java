@@ -44,9 +44,34 @@ public abstract class BaseBeanBinder<T extends IOSource> implements BeanBinder<T
     /** */
     protected abstract EachContext getEachContext(int sequence, Boolean isBigEndian, Field field, Context context);
 
+    /** builds a context from the compiled schema */
+    protected Context getContext(IOSource in, Schema schema, Object bean, Object parent) {
+        return getContext(in, schema.fields, bean, parent);
+    }
+
+    /** builds an each context from the compiled schema entry */
+    EachContext getEachContext(Schema.Entry entry, Context context) {
+        return getEachContext(entry.sequence, entry.bigEndian, entry.field, context);
+    }
+
+    /**
+     * skips bytes of a {@link Skip}.
+     * @throws UnsupportedOperationException the bean binder does not support {@link Skip}
+     */
+    void skip(T io, Context context, Schema.Gap gap) throws IOException {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support @Skip");
+    }
+
+    /**
+     * @return true when the entry is not bound, e.g. skipped by a projection
+     */
+    boolean skip(T io, Context context, Schema.Entry entry) throws IOException {
+        return false;
+    }
+
     @Override
     public Object deserialize(Object io, Object dstBean) throws IOException {
-        T in = getIOSource(io, serdes.isBigEndian(dstBean.getClass()));
+        T in = getIOSource(io, Schema.of(dstBean.getClass()).bigEndian);
         deserialize0(in, dstBean, null);
         return dstBean;
     }
@@ -61,52 +86,55 @@ public abstract class BaseBeanBinder<T extends IOSource> implements BeanBinder<T
      * @param parent nullable
      */
     protected void deserialize0(T in, Object dstBean, Object parent) throws IOException {
-        serdes.getAnnotation(dstBean.getClass());
-
-        // list up fields
-        List<Field> elementFields = serdes.getElementFields(dstBean.getClass());
+        Schema schema = Schema.of(dstBean.getClass());
+        schema.annotation();
 
         // injection
-        Context context = getContext(in, elementFields, dstBean, parent);
+        Context context = getContext(in, schema, dstBean, parent);
 
-        for (Field field : elementFields) {
+        Schema.Gap[] gaps = schema.gaps;
+        int g = 0;
+        for (Schema.Entry entry : schema.entries) {
+            Field field = entry.field;
 
-            int sequence = element.getSequence(field);
+            for (; g < gaps.length && gaps[g].sequence < entry.sequence; g++) {
+                skip(in, context, gaps[g]);
+            }
+            if (skip(in, context, entry)) {
+                continue;
+            }
 
             // each endian
-            Boolean bigEndian = element.isBigEndian(field);
-            EachContext eachContext = getEachContext(sequence, bigEndian, field, context);
+            EachContext eachContext = getEachContext(entry, context);
 
             // condition
-            String condition = element.getCondition(field);
-            if (!condition.isEmpty()) {
-                if (!eachContext.condition(condition)) {
+            if (!entry.condition.isEmpty()) {
+                if (!eachContext.condition(entry.condition)) {
 logger.log(Level.DEBUG, "condition check is false");
                     continue;
                 }
             }
 
             // each injection
-            Binder binder = getDefaultBinder();
-            if (Bound.Util.isBound(field)) {
-                binder = Bound.Util.getBinder(field);
-            }
+            Binder binder = entry.binder != null ? entry.binder : getDefaultBinder();
 logger.log(Level.TRACE, "binder: " + binder.getClass().getName());
             binder.bind(eachContext, dstBean, field);
-logger.log(Level.DEBUG, field.getName() + ": " + field.getType() + ", " + eachContext);
+logger.log(Level.DEBUG, () -> field.getName() + ": " + field.getType() + ", " + eachContext);
             eachContext.settleValues();
 
             // validation
-            String validation = element.getValidation(field);
-            if (!validation.isEmpty()) {
-                eachContext.validate(validation);
+            if (!entry.validation.isEmpty()) {
+                eachContext.validate(entry.validation);
             }
         }
+        for (; g < gaps.length; g++) {
+            skip(in, context, gaps[g]);
+        }
     }
 
     @Override
     public Object serialize(Object srcBean, Object io) throws IOException {
-        T out = getIOSource(io, serdes.isBigEndian(srcBean.getClass()));
+        T out = getIOSource(io, Schema.of(srcBean.getClass()).bigEndian);
         serialize0(srcBean, out, null);
         return io;
     }
@@ -120,47 +148,47 @@ logger.log(Level.DEBUG, field.getName() + ": " + field.getType() + ", " + eachCo
      * @param parent nullable
      */
     protected void serialize0(Object srcBean, T out, Object parent) throws IOException {
-        serdes.getAnnotation(srcBean.getClass());
-
-        // list up fields
-        List<Field> elementFields = serdes.getElementFields(srcBean.getClass());
+        Schema schema = Schema.of(srcBean.getClass());
+        schema.annotation();
 
         // extraction
-        Context context = getContext(out, elementFields, srcBean, parent);
+        Context context = getContext(out, schema, srcBean, parent);
 
-        for (Field field : elementFields) {
+        Schema.Gap[] gaps = schema.gaps;
+        int g = 0;
+        for (Schema.Entry entry : schema.entries) {
+            Field field = entry.field;
 
-            int sequence = element.getSequence(field);
+            for (; g < gaps.length && gaps[g].sequence < entry.sequence; g++) {
+                skip(out, context, gaps[g]);
+            }
 
             // each endian
-            Boolean bigEndian = element.isBigEndian(field);
-            EachContext eachContext = getEachContext(sequence, bigEndian, field, context);
+            EachContext eachContext = getEachContext(entry, context);
 
             // condition
-            String condition = element.getCondition(field);
-            if (!condition.isEmpty()) {
-                if (!eachContext.condition(condition)) {
+            if (!entry.condition.isEmpty()) {
+                if (!eachContext.condition(entry.condition)) {
                     logger.log(Level.DEBUG, "condition check is false");
                     continue;
                 }
             }
 
             // validation
-            String validation = element.getValidation(field);
-            if (!validation.isEmpty()) {
-                eachContext.validate(validation);
+            if (!entry.validation.isEmpty()) {
+                eachContext.validate(entry.validation);
             }
 
             eachContext.settleValues(); // TODO set all fields before loop?
 
             // each extraction
-            Binder binder = getDefaultBinder();
-            if (Bound.Util.isBound(field)) {
-                binder = Bound.Util.getBinder(field);
-            }
+            Binder binder = entry.binder != null ? entry.binder : getDefaultBinder();
 logger.log(Level.TRACE, "binder: " + binder.getClass().getName());
             binder.bind(srcBean, field, eachContext);
-logger.log(Level.DEBUG, field.getName() + ": " + field.getType() + ", " + eachContext);
+logger.log(Level.DEBUG, () -> field.getName() + ": " + field.getType() + ", " + eachContext);
+        }
+        for (; g < gaps.length; g++) {
+            skip(out, context, gaps[g]);
         }
     }
 
@@ -7,6 +7,7 @@
 package vavi.util.serdes;
 
 import java.io.IOException;
+import java.util.Set;
 
 import vavi.util.serdes.BaseBeanBinder.SequenceValidator;
 
@@ -20,9 +21,9 @@ import vavi.util.serdes.BaseBeanBinder.SequenceValidator;
 public interface BeanBinder<IO extends BeanBinder.IOSource> {
 
     /** DI */
-    Serdes.Util serdes = CachingDIContainer.injector().getInstance(Serdes.Util.class);
+    Serdes.Util serdes = CachingDIContainer.getInstance(Serdes.Util.class);
 
-    Element.Util element = CachingDIContainer.injector().getInstance(Element.Util.class);
+    Element.Util element = CachingDIContainer.getInstance(Element.Util.class);
 
     /** holds io complexity like endian */
     interface IOSource {
@@ -30,7 +31,7 @@ public interface BeanBinder<IO extends BeanBinder.IOSource> {
 
     /** holds conversion context */
     interface Context {
-        SequenceValidator validator = CachingDIContainer.injector().getInstance(SequenceValidator.class);
+        SequenceValidator validator = CachingDIContainer.getInstance(SequenceValidator.class);
     }
 
     /**
@@ -44,6 +45,17 @@ public interface BeanBinder<IO extends BeanBinder.IOSource> {
      */
     Object deserialize(Object in, Object dstBean) throws IOException;
 
+    /**
+     * deserializes only the fields and fields those depend on, others are skipped if possible.
+     * a bean binder not supporting projections deserializes all fields.
+     * @param fields field names
+     * @return the same as dstBean
+     * @throws IllegalArgumentException in type is not supported, or a name is not a field
+     */
+    default Object deserialize(Object in, Object dstBean, Set<String> fields) throws IOException {
+        return deserialize(in, dstBean);
+    }
+
     /**
      * @return the same as out
      * @throws IllegalArgumentException out type is not supported
@@ -9,14 +9,18 @@ package vavi.util.serdes;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Arrays;
-import java.util.Optional;
 
 import vavi.beans.BeanUtil;
 
 
 /**
  * Binder. (for a field of a bean)
+ * <p>
+ * binders must be stateless about each bean or field, an instance is reused for
+ * fields and beans, also shared between threads when it is specified by {@link Bound}.
+ * {@link #getEachBinders()} must return the same order for a binder class, because a selected
+ * {@link EachBinder} is memoized by the binder class and the field.
+ * </p>
  *
  * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (umjammer)
  * @version 0.00 2022/02/22 umjammer initial version <br>
@@ -24,9 +28,9 @@ import vavi.beans.BeanUtil;
 public interface Binder {
 
     /** DI */
-    Serdes.Util serdes = CachingDIContainer.injector().getInstance(Serdes.Util.class);
+    Serdes.Util serdes = CachingDIContainer.getInstance(Serdes.Util.class);
 
-    Element.Util element = CachingDIContainer.injector().getInstance(Element.Util.class);
+    Element.Util element = CachingDIContainer.getInstance(Element.Util.class);
 
     interface EachBinder {
         boolean matches(Class<?> fieldClass);
@@ -122,6 +126,27 @@ public interface Binder {
         }
     }
 
+    // Region
+    abstract class RegionEachBinder implements EachBinder {
+        @Override public boolean matches(Class<?> fieldClass) {
+            return fieldClass.equals(Region.class);
+        }
+    }
+
+    // Columns
+    abstract class ColumnsEachBinder implements EachBinder {
+        @Override public boolean matches(Class<?> fieldClass) {
+            return fieldClass.equals(Columns.class);
+        }
+    }
+
+    // LazyList
+    abstract class LazyListEachBinder implements EachBinder {
+        @Override public boolean matches(Class<?> fieldClass) {
+            return fieldClass.equals(LazyList.class);
+        }
+    }
+
     /** nested user defined class object annotated {@link Serdes} */
     EachBinder defaultEachBinder = new EachBinder() {
         @Override public boolean matches(Class<?> fieldClass) {
@@ -159,17 +184,11 @@ public interface Binder {
      * @throws UnsupportedOperationException float, double, char
      */
     default void bind(EachContext context, Object dstBean, Field field) throws IOException {
-        Class<?> fieldClass = field.getType();
-        Optional<EachBinder> eb = Arrays.stream(getEachBinders()).filter(b -> b.matches(fieldClass)).findFirst();
-        if (eb.isPresent()) {
-            eb.get().bind(context, dstBean, field);
+        EachBinder eb = context.getEachBinder(this, field);
+        if (eb != null) {
+            eb.bind(context, dstBean, field);
         } else {
-            if (defaultEachBinder.matches(fieldClass)) {
-                // nested @Serdes
-                defaultEachBinder.bind(context, dstBean, field);
-            } else {
-                throw new UnsupportedOperationException("use @Bound: " + fieldClass.getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
-            }
+            throw new UnsupportedOperationException("use @Bound: " + field.getType().getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
         }
 
         BeanUtil.setFieldValue(field, dstBean, context.getValue());
@@ -183,20 +202,23 @@ public interface Binder {
     default void bind(Object srcBean, Field field, EachContext context) throws IOException {
         context.setValue(BeanUtil.getFieldValue(field, srcBean));
 
-        Class<?> fieldClass = field.getType();
-        Optional<EachBinder> eb = Arrays.stream(getEachBinders()).filter(b -> b.matches(fieldClass)).findFirst();
-        if (eb.isPresent()) {
-            eb.get().bind(srcBean, field, context);
+        EachBinder eb = context.getEachBinder(this, field);
+        if (eb != null) {
+            eb.bind(srcBean, field, context);
         } else {
-            if (defaultEachBinder.matches(fieldClass)) {
-                // nested @Serdes
-                defaultEachBinder.bind(srcBean, field, context);
-            } else {
-                throw new UnsupportedOperationException("use @Bound: " + fieldClass.getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
-            }
+            throw new UnsupportedOperationException("use @Bound: " + field.getType().getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
         }
     }
 
+    /**
+     * selects an each binder for the field class,
+     * the first matched one of {@link #getEachBinders()}, otherwise {@link #defaultEachBinder} for nested @{@link Serdes}.
+     * @return null when no each binder matches
+     */
+    default EachBinder findEachBinder(Class<?> fieldClass) {
+        return Schema.eachBinder(this, Schema.eachBinderIndex(this, fieldClass));
+    }
+
     /** */
     interface EachContext {
 
@@ -224,6 +246,14 @@ public interface Binder {
          * finalization (sets values to {@link vavi.util.serdes.BeanBinder.Context} etc.)
          */
         void settleValues();
+
+        /**
+         * selects an each binder of the binder for the field.
+         * @return null when no each binder matches
+         */
+        default EachBinder getEachBinder(Binder binder, Field field) {
+            return binder.findEachBinder(field.getType());
+        }
     }
 
     /** TODO is this a really interface? */
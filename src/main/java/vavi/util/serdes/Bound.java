@@ -33,23 +33,30 @@ public @interface Bound {
         private Util() {
         }
 
+        /** shared binders, binders are stateless */
+        private static final ClassValue<Binder> binders = new ClassValue<>() {
+            @Override protected Binder computeValue(Class<?> type) {
+                try {
+                    return (Binder) type.getDeclaredConstructor().newInstance();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
         /** */
         public static boolean isBound(Field field) {
             return field.getAnnotation(Bound.class) != null;
         }
 
         /**
-         *
          * @param field @{@link Bound} annotated field.
+         * @return a shared instance for the binder class
          * @throws NullPointerException when field is not annotated by {@link Bound}
          */
         public static Binder getBinder(Field field) {
-            try {
-                Bound bound = field.getAnnotation(Bound.class);
-                return bound.binder().getDeclaredConstructor().newInstance();
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
-            }
+            Bound bound = field.getAnnotation(Bound.class);
+            return binders.get(bound.binder());
         }
     }
 }
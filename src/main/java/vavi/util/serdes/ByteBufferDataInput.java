@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import vavi.io.LittleEndianDataInput;
+
+
+/**
+ * ByteBufferDataInput. a {@link DataInput} reads a {@link ByteBuffer} directly.
+ * <p>
+ * primitives are read by absolute index {@link VarHandle}s of the byte order,
+ * then the position of the buffer advances. instances of both byte orders share a buffer,
+ * so those share the position. the buffer's own {@link ByteBuffer#order()} is not used.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+class ByteBufferDataInput implements DataInput {
+
+    private static final VarHandle BE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_CHAR = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_FLOAT = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_DOUBLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_CHAR = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_FLOAT = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_DOUBLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** little endian one */
+    static final class LittleEndian extends ByteBufferDataInput implements LittleEndianDataInput {
+        LittleEndian(ByteBuffer buffer) {
+            super(buffer, false);
+        }
+    }
+
+    /** source, the position is the read position. a subclass may replace it in {@link #advance(int)} */
+    ByteBuffer buffer;
+
+    /** byte order */
+    final boolean bigEndian;
+
+    private final VarHandle shortHandle;
+    private final VarHandle charHandle;
+    private final VarHandle intHandle;
+    private final VarHandle longHandle;
+    private final VarHandle floatHandle;
+    private final VarHandle doubleHandle;
+
+    /** big endian one */
+    ByteBufferDataInput(ByteBuffer buffer) {
+        this(buffer, true);
+    }
+
+    ByteBufferDataInput(ByteBuffer buffer, boolean bigEndian) {
+        this.buffer = buffer;
+        this.bigEndian = bigEndian;
+        this.shortHandle = bigEndian ? BE_SHORT : LE_SHORT;
+        this.charHandle = bigEndian ? BE_CHAR : LE_CHAR;
+        this.intHandle = bigEndian ? BE_INT : LE_INT;
+        this.longHandle = bigEndian ? BE_LONG : LE_LONG;
+        this.floatHandle = bigEndian ? BE_FLOAT : LE_FLOAT;
+        this.doubleHandle = bigEndian ? BE_DOUBLE : LE_DOUBLE;
+    }
+
+    /**
+     * advances the position. {@link #buffer} is got after this, because a subclass may replace it.
+     * @return the position before advancing
+     * @throws EOFException remaining is less than length
+     */
+    int advance(int length) throws IOException {
+        int position = buffer.position();
+        if (buffer.limit() - position < length) {
+            throw new EOFException("remaining: " + (buffer.limit() - position) + ", required: " + length);
+        }
+        buffer.position(position + length);
+        return position;
+    }
+
+    /** @return max length {@link #advance(int)} accepts at once */
+    int maxAdvance() {
+        return buffer.capacity();
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        int index = advance(len);
+        buffer.get(index, b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        int skip = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skip);
+        return skip;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        int index = advance(1);
+        return buffer.get(index);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xff;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        int index = advance(2);
+        return (short) shortHandle.get(buffer, index);
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xffff;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        int index = advance(2);
+        return (char) charHandle.get(buffer, index);
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        int index = advance(4);
+        return (int) intHandle.get(buffer, index);
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        int index = advance(8);
+        return (long) longHandle.get(buffer, index);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        int index = advance(4);
+        return (float) floatHandle.get(buffer, index);
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        int index = advance(8);
+        return (double) doubleHandle.get(buffer, index);
+    }
+
+    /** @throws UnsupportedOperationException always */
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException("readLine");
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+}
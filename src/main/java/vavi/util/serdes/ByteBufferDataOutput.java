@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import vavi.io.LittleEndianDataOutput;
+
+
+/**
+ * ByteBufferDataOutput. a {@link DataOutput} writes into a {@link ByteBuffer} directly.
+ * <p>
+ * primitives are written by absolute index {@link VarHandle}s of the byte order,
+ * then the position of the buffer advances. instances of both byte orders share a buffer,
+ * so those share the position.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+class ByteBufferDataOutput implements DataOutput {
+
+    private static final VarHandle BE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** the destination buffer is short, distinguished from a short source of a region */
+    static final class Overflow extends EOFException {
+        Overflow(int remaining, long required) {
+            super("remaining: " + remaining + ", required: " + required);
+        }
+    }
+
+    /** little endian one */
+    static final class LittleEndian extends ByteBufferDataOutput implements LittleEndianDataOutput {
+        LittleEndian(ByteBuffer buffer) {
+            super(buffer, false);
+        }
+    }
+
+    /** destination, the position is the write position */
+    final ByteBuffer buffer;
+
+    /** byte order */
+    final boolean bigEndian;
+
+    private final VarHandle shortHandle;
+    private final VarHandle intHandle;
+    private final VarHandle longHandle;
+
+    /** big endian one */
+    ByteBufferDataOutput(ByteBuffer buffer) {
+        this(buffer, true);
+    }
+
+    private ByteBufferDataOutput(ByteBuffer buffer, boolean bigEndian) {
+        this.buffer = buffer;
+        this.bigEndian = bigEndian;
+        this.shortHandle = bigEndian ? BE_SHORT : LE_SHORT;
+        this.intHandle = bigEndian ? BE_INT : LE_INT;
+        this.longHandle = bigEndian ? BE_LONG : LE_LONG;
+    }
+
+    /**
+     * advances the position.
+     * @return the position before advancing
+     * @throws Overflow remaining is less than length
+     */
+    final int advance(int length) throws Overflow {
+        int position = buffer.position();
+        if (buffer.limit() - position < length) {
+            throw new Overflow(buffer.limit() - position, length);
+        }
+        buffer.position(position + length);
+        return position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buffer.put(advance(1), (byte) b);
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        buffer.put(advance(len), b, off, len);
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        write(v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        shortHandle.set(buffer, advance(2), (short) v);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        intHandle.set(buffer, advance(4), v);
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        longHandle.set(buffer, advance(8), v);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new DataOutputStream(baos).writeUTF(s);
+        write(baos.toByteArray());
+    }
+}
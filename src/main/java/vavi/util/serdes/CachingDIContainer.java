@@ -48,23 +48,49 @@ import org.jsr107.ri.annotations.guice.CacheResultInterceptor;
 
 
 /**
+ * helpers resolver.
+ * <p>
+ * by default helpers are plain instances, so guice and jcache are not booted until
+ * someone calls {@link #injector()}.
+ * </p>
+ * system property:
+ * <li>{@code vavi.util.serdes.di} ... resolve helpers by the caching guice container,
+ *  default {@code false}</li>
+ *
  * @see "https://aistudio.google.com/prompts/1Ws7pbMREtUaYDRCz1Jv1t2CVxdUxEdD8"
  */
 public final class CachingDIContainer {
 
     private static final Logger logger = System.getLogger(CachingDIContainer.class.getName());
 
-    // Static fields are set after initialization, so access to them must be delayed
+    private CachingDIContainer() {
+    }
+
+    /** whether helpers are resolved by the container */
+    private static final boolean enabled = Boolean.parseBoolean(System.getProperty("vavi.util.serdes.di", "false"));
 
-    /**  */
-    private static final Injector injector;
+    /** plain helpers for the fast-start mode */
+    private static final ClassValue<Object> instances = new ClassValue<>() {
+        @Override protected Object computeValue(Class<?> type) {
+            try {
+                return type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
 
-    /**  */
-    private static final CacheManager cacheManager;
+    /**
+     * gets a helper, a plain shared instance or an instance intercepted by the container.
+     * @param type a class has a no-arg constructor
+     */
+    public static <T> T getInstance(Class<T> type) {
+        return enabled ? injector().getInstance(type) : type.cast(instances.get(type));
+    }
 
-    /**  */
+    /** boots the container at the first call */
     public static Injector injector() {
-        return injector;
+        return Holder.injector;
     }
 
     // avoiding key conflicts for reporting statistics
@@ -108,80 +134,93 @@ public final class CachingDIContainer {
         }
     }
 
-    static {
-        try {
-            CachingProvider cachingProvider = Caching.getCachingProvider();
-logger.log(Level.TRACE, "STORE_BY_REFERENCE: " + cachingProvider.isSupported(OptionalFeature.STORE_BY_REFERENCE));
-            cacheManager = cachingProvider.getCacheManager(null, Serdes.class.getClassLoader());
-
-            boolean statisticsEnabled = Boolean.parseBoolean(System.getProperty("vavi.util.serdes.cache.statistics", "false"));
-            // cache settings: fields etc. cannot be saved unless storeByValue=false (pass by reference)
-            CompleteConfiguration<Object, Object> config = new MutableConfiguration<>()
-                    .setTypes(Object.class, Object.class)
-                    .setStoreByValue(false)
-                    .setStatisticsEnabled(statisticsEnabled)
-                    .setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(new Duration(TimeUnit.HOURS, 1)));
-
-            // avoiding key conflicts for reporting statistics
-            for (String name : CACHE_NAMES) {
-                cacheManager.createCache(name, config);
-            }
+    /** lazy initialization holder */
+    private static final class Holder {
 
-            injector = Guice.createInjector(
-                    new AbstractModule() {
-                        @Override
-                        protected void configure() {
-                            // 1. Basic component
-                            DefaultCacheKeyGenerator keyGenerator = new DefaultCacheKeyGenerator();
-                            DefaultCacheResolverFactory resolverFactory = new DefaultCacheResolverFactory(cacheManager);
-
-                            // 2. Injector Proxy (avoid circular references)
-                            // CacheLookupUtil requires an Injector, but the injector isn't complete at this point.
-                            // Therefore, when calling the method, pass a proxy that will reference Cacher.injector.
-                            Injector lazyInjectorProxy = (Injector) Proxy.newProxyInstance(
-                                    Injector.class.getClassLoader(),
-                                    new Class<?>[] {Injector.class},
-                                    (proxy, method, args) -> method.invoke(CachingDIContainer.injector, args)
-                            );
-
-                            // 3. Manual assembly
-                            CacheLookupUtil cacheLookupUtil = new CacheLookupUtil(lazyInjectorProxy, keyGenerator, resolverFactory);
-                            MyCacheContextSource myContextSource = new MyCacheContextSource(cacheLookupUtil);
-                            CacheResultInterceptor interceptor = new CacheResultInterceptor();
-
-                            // 4. Forced injection by reflection
-                            // RequestInjection fails, so force the field to have a value.
-                            try {
-                                Field field = CacheResultInterceptor.class.getDeclaredField("cacheContextSource");
-                                field.setAccessible(true);
-                                field.set(interceptor, myContextSource);
-                            } catch (Exception e) {
-                                throw new IllegalStateException("Failed to inject cacheContextSource manually", e);
-                            }
+        // Static fields are set after initialization, so access to them must be delayed
+
+        /**  */
+        static final Injector injector;
 
-                            // 5. Guice registration
-                            bind(CacheManager.class).toInstance(cacheManager);
-                            bind(CacheResolverFactory.class).toInstance(resolverFactory);
-                            bind(CacheKeyGenerator.class).toInstance(keyGenerator);
-                            bind(CacheLookupUtil.class).toInstance(cacheLookupUtil);
-
-                            // Bind both the raw type and the generic type (just in case)
-                            bind(CacheContextSource.class).toInstance(myContextSource);
-                            bind(new TypeLiteral<CacheContextSource<MethodInvocation>>() {
-                            }).toInstance(myContextSource);
-
-                            // 6. Interceptor registration
-                            // The fields have already been injected, so requestInjection is not necessary,
-                            // but we call it in case there are other dependencies.
-                            requestInjection(interceptor);
-                            bindInterceptor(Matchers.any(),
-                                    Matchers.annotatedWith(CacheResult.class),
-                                    interceptor);
-                        }
-                    });
-        } catch (Throwable t) {
-            logger.log(Level.ERROR, t.getMessage(), t);
-            throw new ExceptionInInitializerError(t);
+        /**  */
+        static final CacheManager cacheManager;
+
+        static {
+logger.log(Level.DEBUG, "booting container");
+            try {
+                CachingProvider cachingProvider = Caching.getCachingProvider();
+logger.log(Level.TRACE, "STORE_BY_REFERENCE: " + cachingProvider.isSupported(OptionalFeature.STORE_BY_REFERENCE));
+                cacheManager = cachingProvider.getCacheManager(null, Serdes.class.getClassLoader());
+
+                boolean statisticsEnabled = Boolean.parseBoolean(System.getProperty("vavi.util.serdes.cache.statistics", "false"));
+                // cache settings: fields etc. cannot be saved unless storeByValue=false (pass by reference)
+                CompleteConfiguration<Object, Object> config = new MutableConfiguration<>()
+                        .setTypes(Object.class, Object.class)
+                        .setStoreByValue(false)
+                        .setStatisticsEnabled(statisticsEnabled)
+                        .setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(new Duration(TimeUnit.HOURS, 1)));
+
+                // avoiding key conflicts for reporting statistics
+                for (String name : CACHE_NAMES) {
+                    cacheManager.createCache(name, config);
+                }
+
+                injector = Guice.createInjector(
+                        new AbstractModule() {
+                            @Override
+                            protected void configure() {
+                                // 1. Basic component
+                                DefaultCacheKeyGenerator keyGenerator = new DefaultCacheKeyGenerator();
+                                DefaultCacheResolverFactory resolverFactory = new DefaultCacheResolverFactory(cacheManager);
+
+                                // 2. Injector Proxy (avoid circular references)
+                                // CacheLookupUtil requires an Injector, but the injector isn't complete at this point.
+                                // Therefore, when calling the method, pass a proxy that will reference Cacher.injector.
+                                Injector lazyInjectorProxy = (Injector) Proxy.newProxyInstance(
+                                        Injector.class.getClassLoader(),
+                                        new Class<?>[] {Injector.class},
+                                        (proxy, method, args) -> method.invoke(Holder.injector, args)
+                                );
+
+                                // 3. Manual assembly
+                                CacheLookupUtil cacheLookupUtil = new CacheLookupUtil(lazyInjectorProxy, keyGenerator, resolverFactory);
+                                MyCacheContextSource myContextSource = new MyCacheContextSource(cacheLookupUtil);
+                                CacheResultInterceptor interceptor = new CacheResultInterceptor();
+
+                                // 4. Forced injection by reflection
+                                // RequestInjection fails, so force the field to have a value.
+                                try {
+                                    Field field = CacheResultInterceptor.class.getDeclaredField("cacheContextSource");
+                                    field.setAccessible(true);
+                                    field.set(interceptor, myContextSource);
+                                } catch (Exception e) {
+                                    throw new IllegalStateException("Failed to inject cacheContextSource manually", e);
+                                }
+
+                                // 5. Guice registration
+                                bind(CacheManager.class).toInstance(cacheManager);
+                                bind(CacheResolverFactory.class).toInstance(resolverFactory);
+                                bind(CacheKeyGenerator.class).toInstance(keyGenerator);
+                                bind(CacheLookupUtil.class).toInstance(cacheLookupUtil);
+
+                                // Bind both the raw type and the generic type (just in case)
+                                bind(CacheContextSource.class).toInstance(myContextSource);
+                                bind(new TypeLiteral<CacheContextSource<MethodInvocation>>() {
+                                }).toInstance(myContextSource);
+
+                                // 6. Interceptor registration
+                                // The fields have already been injected, so requestInjection is not necessary,
+                                // but we call it in case there are other dependencies.
+                                requestInjection(interceptor);
+                                bindInterceptor(Matchers.any(),
+                                        Matchers.annotatedWith(CacheResult.class),
+                                        interceptor);
+                            }
+                        });
+            } catch (Throwable t) {
+                logger.log(Level.ERROR, t.getMessage(), t);
+                throw new ExceptionInInitializerError(t);
+            }
         }
     }
 
@@ -194,7 +233,7 @@ logger.log(Level.TRACE, "STORE_BY_REFERENCE: " + cachingProvider.isSupported(Opt
             MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
 
             ObjectName objectName = new ObjectName("javax.cache:type=CacheStatistics,CacheManager="
-                    + sanitize(cacheManager.getURI().toString())
+                    + sanitize(Holder.cacheManager.getURI().toString())
                     + ",Cache=" + cacheName);
 
             if (!mBeanServer.isRegistered(objectName)) {
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+
+import vavi.io.LittleEndianDataInput;
+
+
+/**
+ * ChannelDataInput. a buffered {@link java.io.DataInput} reads a {@link SeekableByteChannel}.
+ * <p>
+ * bytes are read ahead into a sliding {@link Window}, primitives are read from the window
+ * as {@link ByteBufferDataInput} does. instances of both byte orders share a window,
+ * so those share the logical position. a seek or a skip inside the window moves only
+ * the position of the window, outside the window discards the window without reading.
+ * a window is scoped to a source of a deserialization, a stream or a scan, so bytes read ahead
+ * are not shared between sources, and a change of the channel by others between sources is seen.
+ * the first fill of a source reads only bytes required, a later fill reads twice of the last one
+ * up to {@link #WINDOW}, so a small bean of a source does not read a whole window.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+class ChannelDataInput extends ByteBufferDataInput {
+
+    /** max window size in bytes */
+    static final int WINDOW = 64 * 1024;
+
+    /**
+     * a read ahead buffer, bytes from the buffer index 0 to the limit are
+     * bytes from {@link #start} of the channel. the buffer position is the logical position.
+     */
+    static final class Window {
+        /** grows up to {@link #WINDOW}, replaced when grown */
+        ByteBuffer buffer = ByteBuffer.allocate(0);
+        /** channel position of the buffer index 0 */
+        long start;
+        /** bytes of the last fill, 0 before the first fill */
+        int last;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        /** @return logical position */
+        long position() {
+            return start + buffer.position();
+        }
+
+        /** discards bytes read ahead */
+        void invalidate(long position) {
+            start = position;
+            buffer.clear().limit(0);
+        }
+    }
+
+    /** @return a new empty window from the channel position, for a source */
+    static Window acquire(SeekableByteChannel channel) throws IOException {
+        return new Window(channel.position());
+    }
+
+    /** little endian one */
+    static final class LittleEndian extends ChannelDataInput implements LittleEndianDataInput {
+        LittleEndian(SeekableByteChannel channel, Window window) {
+            super(channel, window, false);
+        }
+    }
+
+    /** source */
+    final SeekableByteChannel channel;
+
+    /** shared by both byte orders */
+    final Window window;
+
+    /** big endian one */
+    ChannelDataInput(SeekableByteChannel channel, Window window) {
+        this(channel, window, true);
+    }
+
+    private ChannelDataInput(SeekableByteChannel channel, Window window, boolean bigEndian) {
+        super(window.buffer, bigEndian);
+        this.channel = channel;
+        this.window = window;
+    }
+
+    /** @return logical position */
+    long position() {
+        return window.position();
+    }
+
+    /** moves the logical position, the window is discarded when the position is out of the window */
+    void position(long position) {
+        buffer = window.buffer;
+        if (position >= window.start && position <= window.start + buffer.limit()) {
+            buffer.position((int) (position - window.start));
+        } else {
+            window.invalidate(position);
+        }
+    }
+
+    /** sets the channel position to the logical position, for others using the channel */
+    void release() throws IOException {
+        channel.position(window.position());
+    }
+
+    /**
+     * reads at least length bytes into the window, keeping unread bytes.
+     * bytes are read less than length at the end of the channel.
+     * the window is filled up to the length for the first fill, otherwise twice of the last fill.
+     */
+    private void fill(int length) throws IOException {
+        int size = Math.min(WINDOW, Math.max(length, window.last * 2));
+        window.start += buffer.position();
+        buffer.compact();
+        if (size > buffer.capacity()) {
+            buffer = ByteBuffer.allocate(size).put(buffer.flip());
+            window.buffer = buffer;
+        }
+        buffer.limit(size);
+        channel.position(window.start + buffer.position());
+        while (buffer.position() < length) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        window.last = size;
+    }
+
+    /**
+     * @throws IllegalArgumentException length is larger than the window
+     */
+    @Override
+    int advance(int length) throws IOException {
+        buffer = window.buffer;
+        if (buffer.remaining() < length) {
+            if (length > WINDOW) {
+                throw new IllegalArgumentException("length: " + length + ", window: " + WINDOW);
+            }
+            fill(length);
+        }
+        return super.advance(length);
+    }
+
+    @Override
+    int maxAdvance() {
+        return WINDOW;
+    }
+
+    /** a large one is read from the channel directly, not through the window */
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        buffer = window.buffer;
+        if (len <= WINDOW) {
+            super.readFully(b, off, len);
+            return;
+        }
+        int n = buffer.remaining();
+        buffer.get(b, off, n);
+        long position = window.position();
+        channel.position(position);
+        ByteBuffer dst = ByteBuffer.wrap(b, off + n, len - n);
+        while (dst.hasRemaining()) {
+            if (channel.read(dst) < 0) {
+                window.invalidate(position + dst.position() - (off + n));
+                throw new EOFException("remaining: " + (n + dst.position() - (off + n)) + ", required: " + len);
+            }
+        }
+        window.invalidate(position + len - n);
+    }
+
+    @Override
+    public int skipBytes(int n) throws IOException {
+        buffer = window.buffer;
+        if (n <= buffer.remaining()) {
+            return super.skipBytes(n);
+        }
+        long position = window.position();
+        int skip = (int) Math.max(0, Math.min(n, channel.size() - position));
+        position(position + skip);
+        return skip;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import vavi.beans.BeanUtil;
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+import vavi.util.serdes.DefaultBeanBinder.DefaultOutputSource;
+
+
+/**
+ * Columns. records of a {@link Serdes} class as columns (struct of arrays), an array per {@link Element} field.
+ * <p>
+ * a column of a primitive or a boxed field is a primitive array, others are arrays of the field type.
+ * records of a fixed layout class (see {@link Serdes.Util#sizeOf(Class)}) are read by chunks and
+ * each column is filled by a loop over the chunk without beans, others are deserialized into a bean
+ * a record and copied to columns. a null boxed value is 0 in the column.
+ * </p>
+ * <p>
+ * as a field, {@link Element#value()} is the number of records, the record class is the type argument.
+ * records are serialized through a bean a record.
+ * </p>
+ * <pre>
+ * &#64;Element(sequence = 1)
+ * int count;
+ * &#64;Element(sequence = 2, value = "$1")
+ * Columns&lt;Sample&gt; samples;
+ *
+ * float[] xs = samples.floats("x");
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class Columns<T> {
+
+    /** record class */
+    private final Class<T> type;
+
+    /** */
+    private final Schema schema;
+
+    /** number of records */
+    private final int size;
+
+    /** by {@link Schema.Entry#index} */
+    private final Object[] columns;
+
+    /** columns by field name */
+    private final Map<String, Object> columnsByName = new LinkedHashMap<>();
+
+    /** @throws IllegalArgumentException the type is not annotated with {@link Serdes} */
+    private Columns(Class<T> type, int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size: " + size);
+        }
+        this.type = type;
+        this.schema = Schema.of(type);
+        schema.annotation();
+        this.size = size;
+        this.columns = new Object[schema.entries.length];
+        for (Schema.Entry entry : schema.entries) {
+            Class<?> fieldType = entry.field.getType();
+            Class<?> primitive = fieldType.isPrimitive() ? fieldType : PrimitiveList.unbox(fieldType);
+            columns[entry.index] = Array.newInstance(primitive != null ? primitive : fieldType, size);
+            columnsByName.put(entry.field.getName(), columns[entry.index]);
+        }
+    }
+
+    /**
+     * @return empty columns of size records
+     * @throws IllegalArgumentException the type is not annotated with {@link Serdes}
+     */
+    public static <T> Columns<T> of(Class<T> type, int size) {
+        return new Columns<>(type, size);
+    }
+
+    /**
+     * reads size records from the source.
+     * @param in the same as {@link Serdes.Util#deserialize(Object, Object)}
+     * @throws IllegalArgumentException the bean binder of the type is not a {@link DefaultBeanBinder}
+     */
+    public static <T> Columns<T> read(Object in, Class<T> type, int size) throws IOException {
+        if (!(Schema.of(type).newBeanBinder() instanceof DefaultBeanBinder beanBinder)) {
+            throw new IllegalArgumentException("not a default bean binder: " + type.getName());
+        }
+        return beanBinder.deserialize(in, type, size);
+    }
+
+    /** reads size records from the source, the parent is for scripts of records */
+    static <T> Columns<T> read(DefaultBeanBinder beanBinder, DefaultInputSource in, Class<T> type, int size, Object parent) throws IOException {
+        Columns<T> columns = new Columns<>(type, size);
+        FixedLayout layout = columns.schema.fixedLayout();
+        if (layout != null && beanBinder.getDefaultBinder().getClass() == DefaultBinder.class) {
+            if (layout.size > 0) {
+                int records = layout.records(in);
+                for (int i = 0; i < size; ) {
+                    int n = Math.min(records, size - i);
+                    layout.fill(in, n, columns.columns, i);
+                    i += n;
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                T bean = columns.schema.newInstance();
+                beanBinder.deserialize0(in, bean, parent);
+                columns.set(i, bean);
+            }
+        }
+        return columns;
+    }
+
+    /** writes records to the destination, the parent is for scripts of records */
+    void write(DefaultBeanBinder beanBinder, DefaultOutputSource out, Object parent) throws IOException {
+        for (int i = 0; i < size; i++) {
+            beanBinder.serialize0(get(i, schema.newInstance()), out, parent);
+        }
+    }
+
+    /** @return number of records */
+    public int size() {
+        return size;
+    }
+
+    /** @return record class */
+    public Class<T> type() {
+        return type;
+    }
+
+    /** @return field names in the order of {@link Element#sequence()} */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(columnsByName.keySet());
+    }
+
+    /**
+     * @return the column array of the field, not a copy
+     * @throws IllegalArgumentException no such field
+     */
+    public Object column(String name) {
+        Object column = columnsByName.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("no such field: " + name + " in " + type.getName());
+        }
+        return column;
+    }
+
+    /** @throws IllegalArgumentException no such field, or the column is not the type */
+    private <A> A column(String name, Class<A> arrayType) {
+        Object column = column(name);
+        if (!arrayType.isInstance(column)) {
+            throw new IllegalArgumentException(name + " is not " + arrayType.getSimpleName() + " but " + column.getClass().getSimpleName());
+        }
+        return arrayType.cast(column);
+    }
+
+    /** @see #column(String) */
+    public boolean[] booleans(String name) {
+        return column(name, boolean[].class);
+    }
+
+    /** @see #column(String) */
+    public byte[] bytes(String name) {
+        return column(name, byte[].class);
+    }
+
+    /** @see #column(String) */
+    public short[] shorts(String name) {
+        return column(name, short[].class);
+    }
+
+    /** @see #column(String) */
+    public char[] chars(String name) {
+        return column(name, char[].class);
+    }
+
+    /** @see #column(String) */
+    public int[] ints(String name) {
+        return column(name, int[].class);
+    }
+
+    /** @see #column(String) */
+    public long[] longs(String name) {
+        return column(name, long[].class);
+    }
+
+    /** @see #column(String) */
+    public float[] floats(String name) {
+        return column(name, float[].class);
+    }
+
+    /** @see #column(String) */
+    public double[] doubles(String name) {
+        return column(name, double[].class);
+    }
+
+    /** @see #column(String) */
+    @SuppressWarnings("unchecked")
+    public <E> E[] objects(String name, Class<E> componentType) {
+        return (E[]) column(name, componentType.arrayType());
+    }
+
+    /**
+     * @return a new bean of the record
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public T get(int index) {
+        return get(index, schema.newInstance());
+    }
+
+    /**
+     * @return the bean set fields of the record
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public T get(int index, T bean) {
+        Objects.checkIndex(index, size);
+        for (Schema.Entry entry : schema.entries) {
+            BeanUtil.setFieldValue(entry.field, bean, Array.get(columns[entry.index], index));
+        }
+        return bean;
+    }
+
+    /**
+     * sets fields of the bean to the record, a null boxed value is not set.
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public void set(int index, T bean) {
+        Objects.checkIndex(index, size);
+        for (Schema.Entry entry : schema.entries) {
+            Object value = BeanUtil.getFieldValue(entry.field, bean);
+            if (value != null || !columns[entry.index].getClass().getComponentType().isPrimitive()) {
+                Array.set(columns[entry.index], index, value);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Columns{" + type.getName() + ", " + size + " records, " + columnsByName.keySet() + "}";
+    }
+}
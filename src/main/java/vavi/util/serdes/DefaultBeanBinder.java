@@ -10,32 +10,44 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.script.Bindings;
-import javax.script.ScriptContext;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
 import vavi.beans.BeanUtil;
 import vavi.io.LittleEndianDataInput;
 import vavi.io.LittleEndianDataInputStream;
 import vavi.io.LittleEndianDataOutput;
 import vavi.io.LittleEndianDataOutputStream;
-import vavi.io.LittleEndianSeekableDataInputStream;
-import vavi.io.SeekableDataInputStream;
 import vavi.util.StringUtil;
 import vavi.util.serdes.Binder.EachContext;
 import vavi.util.serdes.DefaultBeanBinder.DefaultIOSource;
@@ -56,59 +68,406 @@ public class DefaultBeanBinder extends BaseBeanBinder<DefaultIOSource> {
     public interface DefaultIOSource extends IOSource {}
 
     /**
-     * @param args 0: accepts {@link InputStream}, {@link SeekableByteChannel}, {@link OutputStream}
+     * @param args 0: accepts {@link InputStream}, {@link SeekableByteChannel}, {@link OutputStream},
+     *                {@link ByteBuffer} and byte[] as an input. use {@link ByteBuffer#wrap(byte[], int, int)}
+     *                for a part of byte[]. the position of a {@link ByteBuffer} advances.
+     *                a {@link SeekableByteChannel} is read through a buffer, the channel position is
+     *                settled by {@link #deserialize(Object, Object)}. a {@link Path} is memory mapped
+     *                and read from the beginning.
      *             1: boolean true: big endian
      */
     @Override
     public DefaultIOSource getIOSource(Object... args) throws IOException {
         if (args[0] instanceof InputStream is) {
             DefaultInputSource in = new DefaultInputSource();
-            in.bedis = new DataInputStream(is);
-            in.ledis = new LittleEndianDataInputStream(is);
+            in.counter = new CountingInputStream(is);
+            in.bedis = new DataInputStream(in.counter);
+            in.ledis = new LittleEndianDataInputStream(in.counter);
             in.available = is.available();
-            in.defaultDis = (boolean) args[1] ? in.bedis : in.ledis;
+            in.bigEndian = (boolean) args[1];
+            in.defaultDis = in.bigEndian ? in.bedis : in.ledis;
             return in;
         } else if (args[0] instanceof SeekableByteChannel sbc) {
             DefaultInputSource in = new DefaultInputSource();
-            in.bedis = new SeekableDataInputStream(sbc);
-            in.ledis = new LittleEndianSeekableDataInputStream(sbc);
-            in.available = (int) (sbc.size() - sbc.position());
-            in.defaultDis = (boolean) args[1] ? in.bedis : in.ledis;
+            ChannelDataInput.Window window = ChannelDataInput.acquire(sbc);
+            ChannelDataInput bedis = new ChannelDataInput(sbc, window);
+            in.bedis = bedis;
+            in.ledis = new ChannelDataInput.LittleEndian(sbc, window);
+            in.size = sbc.size();
+            in.available = in.size - bedis.position();
+            in.channel = bedis;
+            in.bigEndian = (boolean) args[1];
+            in.defaultDis = in.bigEndian ? in.bedis : in.ledis;
             return in;
+        } else if (args[0] instanceof ByteBuffer buffer) {
+            DefaultInputSource in = new DefaultInputSource();
+            in.bedis = new ByteBufferDataInput(buffer);
+            in.ledis = new ByteBufferDataInput.LittleEndian(buffer);
+            in.available = buffer.remaining();
+            in.bigEndian = (boolean) args[1];
+            in.defaultDis = in.bigEndian ? in.bedis : in.ledis;
+            return in;
+        } else if (args[0] instanceof Path path) {
+            return getIOSource(MappedDataInput.map(path), args[1]);
+        } else if (args[0] instanceof MappedDataInput.Mapping mapping) {
+            DefaultInputSource in = new DefaultInputSource();
+            in.bedis = new MappedDataInput(mapping);
+            in.ledis = new MappedDataInput.LittleEndian(mapping);
+            in.available = mapping.size;
+            in.bigEndian = (boolean) args[1];
+            in.defaultDis = in.bigEndian ? in.bedis : in.ledis;
+            return in;
+        } else if (args[0] instanceof byte[] bytes) {
+            return getIOSource(ByteBuffer.wrap(bytes), args[1]);
         } else if (args[0] instanceof OutputStream os) {
             DefaultOutputSource out = new DefaultOutputSource();
-            out.bedos = new DataOutputStream(os);
-            out.ledos = new LittleEndianDataOutputStream(os);
-            out.defaultDos = (boolean) args[1] ? out.bedos : out.ledos;
+            out.counter = new CountingOutputStream(os);
+            out.bedos = new DataOutputStream(out.counter);
+            out.ledos = new LittleEndianDataOutputStream(out.counter);
+            out.bigEndian = (boolean) args[1];
+            out.defaultDos = out.bigEndian ? out.bedos : out.ledos;
             return out;
         }
 
         throw new IllegalArgumentException("unsupported class args[0]: " + args[0].getClass().getName());
     }
 
+    /** for serializing into a buffer, the position of the buffer advances */
+    private static DefaultOutputSource getOutputSource(ByteBuffer buffer, boolean bigEndian) {
+        DefaultOutputSource out = new DefaultOutputSource();
+        out.bedos = new ByteBufferDataOutput(buffer);
+        out.ledos = new ByteBufferDataOutput.LittleEndian(buffer);
+        out.bigEndian = bigEndian;
+        out.defaultDos = out.bigEndian ? out.bedos : out.ledos;
+        return out;
+    }
+
+    /**
+     * @param io the position of a {@link SeekableByteChannel} is set to the end of the bean,
+     *           even if bytes are read ahead.
+     */
+    @Override
+    public Object deserialize(Object io, Object dstBean) throws IOException {
+        return deserialize(io, dstBean, (Projection) null);
+    }
+
+    /**
+     * entries {@link DefaultBinder} binds are skipped if those lengths are computable.
+     * @see Projection
+     */
+    @Override
+    public Object deserialize(Object io, Object dstBean, Set<String> fields) throws IOException {
+        Schema schema = Schema.of(dstBean.getClass());
+        return deserialize(io, dstBean, getDefaultBinder().getClass() == DefaultBinder.class ? schema.projection(fields) : null);
+    }
+
+    /** @param projection nullable */
+    private Object deserialize(Object io, Object dstBean, Projection projection) throws IOException {
+        DefaultIOSource in = getIOSource(io, Schema.of(dstBean.getClass()).bigEndian);
+        if (in instanceof DefaultInputSource dis) {
+            dis.projection = projection;
+        }
+        try {
+            deserialize0(in, dstBean, null);
+        } finally {
+            if (in instanceof DefaultInputSource dis && dis.channel != null) {
+                dis.channel.release();
+            }
+        }
+        return dstBean;
+    }
+
+    /** @see Columns#read(Object, Class, int) */
+    <T> Columns<T> deserialize(Object io, Class<T> type, int size) throws IOException {
+        DefaultIOSource in = getIOSource(io, Schema.of(type).bigEndian);
+        try {
+            return Columns.read(this, (DefaultInputSource) in, type, size, null);
+        } finally {
+            if (in instanceof DefaultInputSource dis && dis.channel != null) {
+                dis.channel.release();
+            }
+        }
+    }
+
+    /** @see Serdes.Util#stream(Object, Class, boolean) */
+    <T> Stream<T> stream(Object io, Class<T> type, boolean recycle) throws IOException {
+        Schema schema = Schema.of(type);
+        DefaultInputSource in = (DefaultInputSource) getIOSource(io, schema.bigEndian);
+        Iterator<T> iterator = new Iterator<>() {
+            /** the recycled one */
+            T bean;
+
+            @Override public boolean hasNext() {
+                try {
+                    return !in.atEnd();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    T dstBean = recycle && bean != null ? bean : schema.newInstance();
+                    deserialize0(in, dstBean, null);
+                    bean = dstBean;
+                    return dstBean;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    if (in.channel != null) {
+                        try {
+                            in.channel.release();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * @param io also accepts {@link ByteBuffer} from its position, and byte[] from 0.
+     * @throws java.io.EOFException when the buffer is short
+     */
+    @Override
+    public Object serialize(Object srcBean, Object io) throws IOException {
+        if (io instanceof ByteBuffer || io instanceof byte[]) {
+            ByteBuffer buffer = io instanceof byte[] bytes ? ByteBuffer.wrap(bytes) : (ByteBuffer) io;
+            serialize0(srcBean, getOutputSource(buffer, Schema.of(srcBean.getClass()).bigEndian), null);
+            return io;
+        }
+        return super.serialize(srcBean, io);
+    }
+
     /** for deserializing */
     protected static class DefaultInputSource implements DefaultIOSource {
         DataInput bedis;
         LittleEndianDataInput ledis;
+        /** byte order of {@link #defaultDis} */
+        boolean bigEndian = true;
         /** {@link Element#bigEndian()} considerable DataInput */
         DataInput defaultDis;
         /** {@link Element#bigEndian()} considerable DataInput */
         DataInput get(boolean isBigendian) {
             return isBigendian ? bedis : ledis;
         }
-        int available;
+        /** bytes from the start position to the end, {@code $0} */
+        long available;
+        /** nullable, a reader of a {@link SeekableByteChannel} */
+        ChannelDataInput channel;
+        /** size of {@link #channel} last got, got again when bytes seem short */
+        long size;
+        /** nullable, for an {@link InputStream} */
+        CountingInputStream counter;
+        /** nullable, for the top level bean */
+        Projection projection;
+        /** nullable, for the top level bean */
+        FilteredScan.Filter filter;
+
+        /**
+         * @return read position, the origin depends on the source
+         * @throws UnsupportedOperationException the position is unknown
+         */
+        long position() {
+            if (bedis instanceof ChannelDataInput cin) {
+                return cin.position();
+            } else if (bedis instanceof MappedDataInput min) {
+                return min.position();
+            } else if (bedis instanceof ByteBufferDataInput bin) {
+                return bin.buffer.position();
+            } else if (counter != null) {
+                return counter.count;
+            }
+            throw new UnsupportedOperationException("position is unknown: " + bedis.getClass().getName());
+        }
+
+        /**
+         * @return bytes of the channel from the position, the size is got again only when
+         *         the cached one is less than required, i.e. a record is not read a system call
+         */
+        long remaining(ChannelDataInput cin, long required) throws IOException {
+            long remaining = size - cin.position();
+            if (remaining < required) {
+                size = cin.channel.size();
+                remaining = size - cin.position();
+            }
+            return remaining;
+        }
+
+        /**
+         * @return true when the source has no more byte, a stream is read a byte ahead
+         * @throws UnsupportedOperationException the source is unknown
+         */
+        boolean atEnd() throws IOException {
+            if (bedis instanceof ChannelDataInput cin) {
+                return remaining(cin, 1) <= 0;
+            } else if (bedis instanceof MappedDataInput min) {
+                return min.remaining() <= 0;
+            } else if (bedis instanceof ByteBufferDataInput bin) {
+                return !bin.buffer.hasRemaining();
+            } else if (counter != null) {
+                return counter.atEnd();
+            }
+            throw new UnsupportedOperationException("end is unknown: " + bedis.getClass().getName());
+        }
+
+        /**
+         * skips bytes, seeks if possible
+         * @throws EOFException the source is short
+         */
+        void skip(long length) throws IOException {
+            if (bedis instanceof ChannelDataInput cin) {
+                long remaining = remaining(cin, length);
+                if (remaining < length) {
+                    throw new EOFException("remaining: " + remaining + ", required: " + length);
+                }
+                cin.position(cin.position() + length);
+            } else if (bedis instanceof MappedDataInput min) {
+                if (min.remaining() < length) {
+                    throw new EOFException("remaining: " + min.remaining() + ", required: " + length);
+                }
+                min.position(min.position() + length);
+            } else {
+                for (long rest = length; rest > 0; ) {
+                    int n = bedis.skipBytes((int) Math.min(rest, Integer.MAX_VALUE));
+                    if (n <= 0) {
+                        throw new EOFException("skipped: " + (length - rest) + ", required: " + length);
+                    }
+                    rest -= n;
+                }
+            }
+        }
     }
 
     /** for serializing */
     protected static class DefaultOutputSource implements DefaultIOSource {
         DataOutput bedos;
         LittleEndianDataOutput ledos;
+        /** byte order of {@link #defaultDos} */
+        boolean bigEndian = true;
         /** {@link Element#bigEndian()} considerable DataOutput */
         DataOutput defaultDos;
+        /** nullable, for an {@link OutputStream} */
+        CountingOutputStream counter;
         /** {@link Element#bigEndian()} considerable DataOutput */
         DataOutput get(boolean isBigendian) {
             return isBigendian ? bedos : ledos;
         }
+
+        /**
+         * @return write position, the origin depends on the destination
+         * @throws UnsupportedOperationException the position is unknown
+         */
+        long position() {
+            if (bedos instanceof ByteBufferDataOutput bout) {
+                return bout.buffer.position();
+            } else if (counter != null) {
+                return counter.count;
+            }
+            throw new UnsupportedOperationException("position is unknown: " + bedos.getClass().getName());
+        }
+
+        /** writes zeros */
+        void skip(long length) throws IOException {
+            PrimitiveArrays.writeZeros(defaultDos, length);
+        }
+
+        /**
+         * writes the region not through {@link #defaultDos}
+         * @throws ByteBufferDataOutput.Overflow the destination buffer is short
+         * @throws EOFException the source of the region is short
+         */
+        void write(Region region) throws IOException {
+            if (bedos instanceof ByteBufferDataOutput bout) {
+                // into the destination directly
+                if (region.length() > bout.buffer.remaining()) {
+                    throw new ByteBufferDataOutput.Overflow(bout.buffer.remaining(), region.length());
+                }
+                int length = (int) region.length();
+                ByteBuffer dst = bout.buffer.slice(bout.advance(length), length);
+                try (ReadableByteChannel channel = region.openChannel()) {
+                    while (dst.hasRemaining()) {
+                        if (channel.read(dst) < 0) throw new EOFException(region + ", written: " + dst.position());
+                    }
+                }
+            } else if (counter != null) {
+                counter.write(region);
+            } else {
+                region.transferTo(Channels.newChannel(new OutputStream() {
+                    @Override public void write(int b) throws IOException {
+                        defaultDos.write(b);
+                    }
+                    @Override public void write(byte[] b, int off, int len) throws IOException {
+                        defaultDos.write(b, off, len);
+                    }
+                }));
+            }
+        }
+    }
+
+    /** counts bytes read, for positions */
+    static final class CountingInputStream extends FilterInputStream {
+        long count;
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+        @Override public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) count++;
+            return b;
+        }
+        @Override public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+        @Override public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+        @Override public boolean markSupported() {
+            return false;
+        }
+        /** @return true when no more byte, a read byte is pushed back */
+        boolean atEnd() throws IOException {
+            if (!(in instanceof PushbackInputStream)) {
+                in = new PushbackInputStream(in, 1);
+            }
+            int b = in.read();
+            if (b < 0) {
+                return true;
+            }
+            ((PushbackInputStream) in).unread(b);
+            return false;
+        }
+    }
+
+    /** counts bytes written, for positions */
+    static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+        @Override public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+        @Override public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+        /** a file is written by its channel */
+        void write(Region region) throws IOException {
+            WritableByteChannel channel = out instanceof FileOutputStream fos ? fos.getChannel() : Channels.newChannel(out);
+            count += region.transferTo(channel);
+        }
     }
 
     /**
@@ -120,29 +479,44 @@ public class DefaultBeanBinder extends BaseBeanBinder<DefaultIOSource> {
      * <pre>
      *  * {@code $_} value of the bean
      *  * {@code $#} value of the field. # is like 1, 2, 3 ..., 1 origin, means the {@link Element#sequence()}
-     *  * {@code $0} is whole data length TODO $0 is not object length but stream length
+     *  * {@code $0} is whole data length as a long TODO $0 is not object length but stream length
      * </pre>
      */
     public static class DefaultContext implements BeanBinder.Context {
-        final ScriptEngineManager manager = new ScriptEngineManager();
-        final ScriptEngine engine = manager.getEngineByName("groovy");
-        final Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+        /** script prefix for functions */
+        private static final String prepare = "import static " + DefaultContext.class.getName() + ".*;";
+
+        /** per bean, engines are shared by {@link ScriptEngines} */
+        final Bindings bindings = ScriptEngines.createBindings();
+
+        /** field sizes by variable name "$#" */
+        final Map<String, Integer> sizes = new HashMap<>();
 
         final DefaultIOSource io;
+        final Schema schema;
         final List<Field> fields;
         final Object bean;
         final DefaultBeanBinder beanBinder;
+        /** position of the bean start, for {@link Skip#align()} */
+        final long start;
+        /** nullable, for the top level bean */
+        final Projection projection;
+        /** nullable, for the top level bean */
+        final FilteredScan.Filter filter;
 
         /** for deserializing */
         DefaultContext(DefaultInputSource in, List<Field> fields, Object bean, Object parent, DefaultBeanBinder beanBinder) {
             this.io = in;
+            this.schema = Schema.of(bean.getClass());
             this.fields = fields;
             this.bean = bean;
             this.beanBinder = beanBinder;
+            this.start = schema.aligned ? in.position() : 0;
+            this.projection = parent == null ? in.projection : null;
+            this.filter = parent == null ? in.filter : null;
 
-            validator.validateSequences(bean.getClass());
+            schema.validateSequences();
 
-logger.log(Level.TRACE, "engine: " + engine.getFactory().getEngineName());
 logger.log(Level.TRACE, "parent: " + parent + ", bean: " + bean);
             bindings.put("$__", parent);
             bindings.put("$_", bean);
@@ -152,32 +526,89 @@ logger.log(Level.TRACE, "parent: " + parent + ", bean: " + bean);
         /** for serializing */
         DefaultContext(DefaultOutputSource out, List<Field> fields, Object bean, Object parent, DefaultBeanBinder beanBinder) {
             this.io = out;
+            this.schema = Schema.of(bean.getClass());
             this.fields = fields;
             this.bean = bean;
             this.beanBinder = beanBinder;
+            this.start = schema.aligned ? out.position() : 0;
+            this.projection = null;
+            this.filter = null;
 
-            validator.validateSequences(bean.getClass());
+            schema.validateSequences();
 
             bindings.put("$__", parent);
             bindings.put("$_", bean);
         }
 
+        /**
+         * @throws IllegalStateException eval failed
+         * @see Expression
+         */
         Object eval(String script) {
+            return Expression.compile(script).eval(this);
+        }
+
+        /**
+         * @return the result as a long
+         * @throws IllegalStateException eval failed
+         */
+        long evalLength(Expression expression) {
+            Object size = expression.eval(this);
+            return size instanceof Integer i ? i : size instanceof Long l ? l : Double.valueOf(size.toString()).longValue();
+        }
+
+        /** context evaluating a script on the thread, for script functions */
+        private static final ThreadLocal<DefaultContext> current = new ThreadLocal<>();
+
+        /** @throws IllegalStateException eval failed */
+        Object evalScript(String script) {
+logger.log(Level.TRACE, "script: " + script);
+            DefaultContext previous = current.get();
+            current.set(this);
             try {
-                String prepare = "import static " + getClass().getName() + ".*;";
-logger.log(Level.TRACE, "prepare: " + prepare);
-                return engine.eval(prepare + script);
-            } catch (ScriptException e) {
-                throw new IllegalStateException(e);
+                return ScriptEngines.eval(prepare + script, bindings);
+            } finally {
+                if (previous != null) {
+                    current.set(previous);
+                } else {
+                    current.remove();
+                }
             }
         }
 
-        /** for script */
-        private static final Map<Object, Integer> sizeMap = new HashMap<>();
+        /**
+         * @param name variable name like "$1"
+         * @throws IllegalArgumentException no size for the field
+         */
+        int sizeOfVariable(String name) {
+            Integer size = sizes.get(name);
+            if (size == null) {
+                throw new IllegalArgumentException("no size for: " + name);
+            }
+            return size;
+        }
 
-        /** a function for script */
+        /**
+         * a function for script, {@code sizeof($#)} is rewritten to {@link #sizeofVariable(String)}
+         * before evaluation, so the arg here is not a field variable.
+         * @throws IllegalArgumentException always, sizes are found by field variables
+         */
         public static int sizeof(Object arg) {
-            return sizeMap.get(arg);
+            throw new IllegalArgumentException("sizeof takes a field variable like $1: " + arg);
+        }
+
+        /**
+         * a function for script, {@code sizeof($#)}
+         * @param name variable name like "$1"
+         * @throws IllegalStateException called out of scripts
+         * @throws IllegalArgumentException no size for the field
+         */
+        public static int sizeofVariable(String name) {
+            DefaultContext context = current.get();
+            if (context == null) {
+                throw new IllegalStateException("sizeof is available only in scripts");
+            }
+            return context.sizeOfVariable(name);
         }
 
         /** a function for script */
@@ -212,23 +643,41 @@ logger.log(Level.TRACE, "prepare: " + prepare);
         public DataInput dis;
         /** {@link Element#bigEndian()} considerable DataOutput */
         public DataOutput dos;
+        /** byte order of {@link #dis} or {@link #dos} */
+        public final boolean bigEndian;
+
+        /** compiled {@link Element} of the field */
+        final Schema.Entry entry;
 
         public DefaultEachContext(int sequence, Boolean isBigEndian, Field field, Context context) {
+            this(((DefaultContext) context).schema.entry(field), sequence, isBigEndian, context);
+        }
+
+        DefaultEachContext(Schema.Entry entry, Context context) {
+            this(entry, entry.sequence, entry.bigEndian, context);
+        }
+
+        private DefaultEachContext(Schema.Entry entry, int sequence, Boolean isBigEndian, Context context) {
+            this.entry = entry;
             this.sequence = sequence;
-            this.field = field;
+            this.field = entry.field;
             this.context = (DefaultContext) context;
 
-            if (this.context.io instanceof DefaultBeanBinder.DefaultInputSource) {
+            if (this.context.io instanceof DefaultBeanBinder.DefaultInputSource in) {
                 if (isBigEndian != null) {
-                    dis = ((DefaultInputSource) this.context.io).get(isBigEndian);
+                    dis = in.get(isBigEndian);
+                    bigEndian = isBigEndian;
                 } else {
-                    dis = ((DefaultInputSource) this.context.io).defaultDis;
+                    dis = in.defaultDis;
+                    bigEndian = in.bigEndian;
                 }
-            } else if (this.context.io instanceof DefaultBeanBinder.DefaultOutputSource) {
+            } else if (this.context.io instanceof DefaultBeanBinder.DefaultOutputSource out) {
                 if (isBigEndian != null) {
-                    dos = ((DefaultOutputSource) this.context.io).get(isBigEndian);
+                    dos = out.get(isBigEndian);
+                    bigEndian = isBigEndian;
                 } else {
-                    dos = ((DefaultOutputSource) this.context.io).defaultDos;
+                    dos = out.defaultDos;
+                    bigEndian = out.bigEndian;
                 }
             } else {
                 throw new IllegalStateException(this.context.io.getClass().getName());
@@ -247,7 +696,27 @@ logger.log(Level.TRACE, "prepare: " + prepare);
 
         /** @throws IllegalArgumentException eval failed */
         public Object eval(String script) {
-            return context.eval(script);
+            return script.equals(entry.value) ? entry.valueExpression().eval(context) : context.eval(script);
+        }
+
+        /**
+         * evaluates {@link Element#value()} as a size
+         * @throws IllegalArgumentException eval failed, or the size overflows an int
+         */
+        public int evalSize() {
+            long size = evalLength();
+            if (size != (int) size) {
+                throw new IllegalArgumentException("size overflows: " + size);
+            }
+            return (int) size;
+        }
+
+        /**
+         * evaluates {@link Element#value()} as a long size
+         * @throws IllegalArgumentException eval failed
+         */
+        public long evalLength() {
+            return context.evalLength(entry.valueExpression());
         }
 
         @Override
@@ -256,11 +725,11 @@ logger.log(Level.TRACE, "prepare: " + prepare);
         }
 
         /**
-         * groovy script that used in equals method
+         * script that evaluated as an expected value
          * <pre>
          * for normal fields
          *
-         *  $2.equals(eval("validation script"));
+         *  $2.equals(eval("validation script")); // numbers are compared by those values
          *
          * for array fields
          *
@@ -268,18 +737,15 @@ logger.log(Level.TRACE, "prepare: " + prepare);
          *
          * </pre>
          * TODO scripting more freely? (user writes equals, then eval is like assertTrue)
+         * @see Expression#matches(Object, Object)
          */
         @Override
         public void validate(String validation) {
             // TODO why bean shell accepts >= 0x80 byte value w/o (byte) cast?
-            String validationScript;
-            if (field.getType().isArray()) {
-                validationScript = "java.util.Arrays.equals($" + sequence + ", " + validation + ")";
-            } else {
-                validationScript = "$" + sequence + ".equals(" + validation + ")";
-            }
-            if (!Boolean.parseBoolean(eval(validationScript).toString())) {
-                throw new IllegalArgumentException("validation for sequence " + sequence + " failed.\n" + validationScript);
+            Object actual = value != null ? value : BeanUtil.getFieldValue(field, context.bean);
+            Expression expression = validation.equals(entry.validation) ? entry.validationExpression() : Expression.compile(validation);
+            if (!Expression.matches(actual, expression.eval(context))) {
+                throw new IllegalArgumentException("validation for sequence " + sequence + " failed.\n" + validation);
             }
         }
 
@@ -289,23 +755,34 @@ logger.log(Level.TRACE, "prepare: " + prepare);
         @Override
         public boolean condition(String condition) {
             try {
-                Method method = BeanUtil.getMethodByNameOf(context.bean.getClass(), condition, Integer.TYPE);
+                Method method = condition.equals(entry.condition) ? entry.conditionMethod() : BeanUtil.getMethodByNameOf(context.bean.getClass(), condition, Integer.TYPE);
                 return (boolean) method.invoke(context.bean, sequence);
             } catch (NoSuchMethodException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                 throw new IllegalArgumentException(e);
             }
         }
 
+        /** the each binder memoized by the entry for the field of the entry */
+        @Override
+        public Binder.EachBinder getEachBinder(Binder binder, Field field) {
+            return entry != null && entry.field.equals(field) ? entry.eachBinder(binder) : binder.findEachBinder(field.getType());
+        }
+
         /**
          * set bsh value named "$#" as the java field {@link #value}
-         * and update {@link DefaultContext#sizeMap}
+         * and update field sizes for {@link DefaultContext#sizeof(Object)}
          */
         @Override
         public void settleValues() {
             // field values are stored as "$1", "$2" ...
-            this.context.bindings.put("$" + sequence, value);
+            String name = entry.name;
+            if (value == null && dos != null) {
+                // serializing settles before binding
+                value = BeanUtil.getFieldValue(field, context.bean);
+            }
+            this.context.bindings.put(name, value);
             // field sizes
-            DefaultContext.sizeMap.put(value, size);
+            this.context.sizes.put(name, size);
         }
 
         @Override
@@ -323,6 +800,88 @@ logger.log(Level.TRACE, "prepare: " + prepare);
         return defaultBinder;
     }
 
+    /**
+     * skips bytes when deserializing, writes zeros when serializing.
+     * @throws IllegalArgumentException eval failed, or the length is negative
+     */
+    @Override
+    void skip(DefaultIOSource io, Context context, Schema.Gap gap) throws IOException {
+        DefaultContext c = (DefaultContext) context;
+        long length = gap.constant;
+        if (length < 0) {
+            length = c.evalLength(gap.valueExpression());
+            if (length < 0) {
+                throw new IllegalArgumentException(gap + ": " + gap.value + " = " + length);
+            }
+        }
+        if (io instanceof DefaultInputSource in) {
+            if (gap.align > 0) {
+                length += padding(in.position() + length - c.start, gap.align);
+            }
+            in.skip(length);
+        } else {
+            DefaultOutputSource out = (DefaultOutputSource) io;
+            if (gap.align > 0) {
+                length += padding(out.position() + length - c.start, gap.align);
+            }
+            out.skip(length);
+        }
+    }
+
+    /** skips an entry the projection or the filter does not decode */
+    @Override
+    boolean skip(DefaultIOSource io, Context context, Schema.Entry entry) throws IOException {
+        DefaultContext c = (DefaultContext) context;
+        Projection projection = c.filter != null ? c.filter.projection(entry, c.bean) : c.projection;
+        if (projection == null || projection.decodes(entry)) {
+            return false;
+        }
+        ((DefaultInputSource) io).skip(projection.length(entry, (DefaultContext) context));
+        return true;
+    }
+
+    /** @return bytes to a multiple of align */
+    static long padding(long position, int align) {
+        long r = position % align;
+        return r == 0 ? 0 : align - r;
+    }
+
+    /**
+     * @return null when the bean is not a fixed layout, or the default binder is not {@link DefaultBinder}
+     * @throws IllegalArgumentException the bean is not annotated with {@link Serdes}
+     */
+    private FixedLayout fixedLayout(Object bean) {
+        if (getDefaultBinder().getClass() != DefaultBinder.class) {
+            return null;
+        }
+        Schema schema = Schema.of(bean.getClass());
+        schema.annotation();
+        return schema.fixedLayout();
+    }
+
+    /** a bean of a fixed layout is read at once, except for a top level one with a projection or a filter */
+    @Override
+    protected void deserialize0(DefaultIOSource in, Object dstBean, Object parent) throws IOException {
+        FixedLayout layout = fixedLayout(dstBean);
+        DefaultInputSource dis = (DefaultInputSource) in;
+        if (layout != null && (parent != null || (dis.projection == null && dis.filter == null))) {
+            layout.read(dis, dstBean);
+        } else {
+            super.deserialize0(in, dstBean, parent);
+        }
+    }
+
+    /** a bean of a fixed layout is written at once */
+    @Override
+    protected void serialize0(Object srcBean, DefaultIOSource out, Object parent) throws IOException {
+        FixedLayout layout = fixedLayout(srcBean);
+        if (layout != null) {
+            layout.write((DefaultOutputSource) out, srcBean);
+        } else {
+            super.serialize0(srcBean, out, parent);
+        }
+    }
+
     @Override
     protected Context getContext(IOSource io, List<Field> fields, Object bean, Object parent) {
         if (io instanceof DefaultBeanBinder.DefaultInputSource iio) {
@@ -10,19 +10,14 @@ import java.io.IOException;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.function.Predicate;
 
 import vavi.beans.BeanUtil;
-import vavi.beans.ClassUtil;
 import vavi.util.StringUtil;
 import vavi.util.serdes.DefaultBeanBinder.DefaultEachContext;
 
@@ -36,18 +31,19 @@ import static java.lang.System.getLogger;
  * <pre>
  * engine
  *
- *  * groovy
+ *  * built-in ... arithmetic, comparison, {@code $#}, {@code len}, {@code sizeof} etc. see {@link ExpressionCompiler}
+ *  * groovy ... for scripts the built-in cannot handle
  *
  * pre-bound variables
  *
  *  * {@code $_} value of the bean
  *  * {@code $#} value of the field. # is like 1, 2, 3 ..., 1 origin, means the {@link Element#sequence()}
- *  * {@code $0} is whole data length TODO $0 is not object length but stream length
+ *  * {@code $0} is whole data length as a long TODO $0 is not object length but stream length
  *
  * function
  *
  *  * {@code len(arg)} returns length of the array arg
- *  * {@code sizeof(arg)} returns size of the arg
+ *  * {@code sizeof($#)} returns size of the field, the arg is a field variable like {@code $1}
  *
  * value
  *
@@ -59,15 +55,32 @@ import static java.lang.System.getLogger;
  * * when field is an array
  *
  *  ** value length of the array
+ *  ** arrays of any primitive type are converted in bulk, a boolean is a byte
+ *
+ * * when field is a {@link List} of a boxed primitive type
+ *
+ *  ** value size of the list, the list is a view of a primitive array
+ *  ** an initialized field value is replaced by the view, elements are not added to it
+ *
+ * * when field is a {@link Region}
+ *
+ *  ** value byte length of the region, bytes are referred, not read
+ *
+ * * when field is a {@link Columns}
+ *
+ *  ** value number of records, the record class is the type argument
+ *
+ * * when field is a {@link LazyList}
+ *
+ *  ** value number of elements for a fixed size element class, otherwise byte length of elements
  * </pre>
  * </ul>
  * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (umjammer)
  * @version 0.00 2022/02/22 umjammer initial version <br>
  * @see DefaultBeanBinder.DefaultContext
- * @see DefaultBeanBinder.DefaultContext#engine
+ * @see ScriptEngines
  * @see DefaultBeanBinder.DefaultContext#sizeof(Object)
  * @see DefaultBeanBinder.DefaultContext#len(Object)
- * @see DefaultBeanBinder.DefaultContext#sizeMap
  */
 @SuppressWarnings("JavadocReference")
 public class DefaultBinder implements Binder {
@@ -123,39 +136,13 @@ public class DefaultBinder implements Binder {
         // Integer deserializing
         @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            if (type.equalsIgnoreCase("byte")) {
-                context.setValue(eachContext.dis.readByte());
-                eachContext.size = 1;
-            } else if (type.equalsIgnoreCase("unsigned byte")) {
-                context.setValue(eachContext.dis.readUnsignedByte());
-                eachContext.size = 1;
-            } else if (type.equalsIgnoreCase("unsigned short")) {
-                context.setValue(eachContext.dis.readUnsignedShort());
-                eachContext.size = 2;
-            } else {
-                context.setValue(eachContext.dis.readInt());
-                eachContext.size = 4;
-            }
+            context.setValue((int) read(eachContext, eachContext.entry.intType()));
         }
 
         // Integer serializing
         @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            if (type.equalsIgnoreCase("byte")) {
-                eachContext.dos.writeByte((int) context.getValue());
-                eachContext.size = 1;
-            } else if (type.equalsIgnoreCase("unsigned byte")) {
-                eachContext.dos.writeByte((int) context.getValue());
-                eachContext.size = 1;
-            } else if (type.equalsIgnoreCase("unsigned short")) {
-                eachContext.dos.writeShort((int) context.getValue());
-                eachContext.size = 2;
-            } else {
-                eachContext.dos.writeInt((int) context.getValue());
-                eachContext.size = 4;
-            }
+            write(eachContext, eachContext.entry.intType(), (int) context.getValue());
         }
     };
 
@@ -164,27 +151,13 @@ public class DefaultBinder implements Binder {
         // Long deserializing
         @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            if (type.equalsIgnoreCase("unsigned int")) {
-                context.setValue(eachContext.dis.readInt() & 0xffff_ffffL);
-                eachContext.size = 4;
-            } else {
-                context.setValue(eachContext.dis.readLong());
-                eachContext.size = 8;
-            }
+            context.setValue(read(eachContext, eachContext.entry.longType()));
         }
 
         // Long serializing
         @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            if (type.equalsIgnoreCase("unsigned int")) {
-                eachContext.dos.writeInt((int) context.getValue());
-                eachContext.size = 4;
-            } else {
-                eachContext.dos.writeLong((long) context.getValue());
-                eachContext.size = 8;
-            }
+            write(eachContext, eachContext.entry.longType(), (long) context.getValue());
         }
     };
 
@@ -242,65 +215,16 @@ public class DefaultBinder implements Binder {
             if (fieldValue != null) {
                 eachContext.size = Array.getLength(fieldValue);
             }
-            String sizeScript = element.getValue(field);
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue(); // TODO size means array size or total byte?
+                eachContext.size = eachContext.evalSize(); // TODO size means array size or total byte?
             }
 
             Class<?> fieldElementClass = field.getType().getComponentType();
-            if (fieldElementClass.equals(Byte.TYPE)) {
-                // byte array
-                if (fieldValue != null) {
-                    eachContext.dis.readFully((byte[]) fieldValue, 0, eachContext.size);
-                    context.setValue(fieldValue);
-                } else {
-                    byte[] buf = new byte[eachContext.size];
-                    eachContext.dis.readFully(buf, 0, eachContext.size);
-                    context.setValue(buf);
-                }
-            } else if (fieldElementClass.equals(Short.TYPE)) {
-                // short array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        ((short[]) fieldValue)[i] = eachContext.dis.readShort();
-                    }
-                    context.setValue(fieldValue);
-                } else {
-                    short[] buf = new short[eachContext.size];
-                    for (int i = 0; i < eachContext.size; i++) {
-                        buf[i] = eachContext.dis.readShort();
-                    }
-                    context.setValue(buf);
-                }
-            } else if (fieldElementClass.equals(Integer.TYPE)) {
-                // int array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        ((int[]) fieldValue)[i] = eachContext.dis.readInt();
-                    }
-                    context.setValue(fieldValue);
-                } else {
-                    int[] buf = new int[eachContext.size];
-                    for (int i = 0; i < eachContext.size; i++) {
-                        buf[i] = eachContext.dis.readInt();
-                    }
-                    context.setValue(buf);
-                }
-            } else if (fieldElementClass.equals(Long.TYPE)) {
-                // long array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        ((long[]) fieldValue)[i] = eachContext.dis.readLong();
-                    }
-                    context.setValue(fieldValue);
-                } else {
-                    long[] buf = new long[eachContext.size];
-                    for (int i = 0; i < eachContext.size; i++) {
-                        buf[i] = eachContext.dis.readLong();
-                    }
-                    context.setValue(buf);
-                }
+            if (PrimitiveArrays.isSupported(fieldElementClass)) {
+                // primitive array
+                context.setValue(PrimitiveArrays.read(eachContext.dis, fieldElementClass, fieldValue, eachContext.size, eachContext.bigEndian));
             } else {
                 // object array
                 Serdes annotation = fieldElementClass.getAnnotation(Serdes.class);
@@ -331,57 +255,17 @@ logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (fieldValue != null) {
                 eachContext.size = Array.getLength(fieldValue);
             }
-            String sizeScript = element.getValue(field);
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue();
+                eachContext.size = eachContext.evalSize();
             }
             if (eachContext.size == 0) throw new IllegalStateException("size must be set for: " + field.getName());
 
             Class<?> fieldElementClass = field.getType().getComponentType();
-            if (fieldElementClass.equals(Byte.TYPE)) {
-                // byte array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeByte(((byte[]) fieldValue)[i]);
-                    }
-                } else {
-                    byte[] buf = new byte[eachContext.size];
-                    eachContext.dos.write(buf, 0, eachContext.size);
-                }
-            } else if (fieldElementClass.equals(Short.TYPE)) {
-                // short array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeShort(((short[]) fieldValue)[i]);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeShort(0);
-                    }
-                }
-            } else if (fieldElementClass.equals(Integer.TYPE)) {
-                // int array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeInt(((int[]) fieldValue)[i]);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeInt(0);
-                    }
-                }
-            } else if (fieldElementClass.equals(Long.TYPE)) {
-                // long array
-                if (fieldValue != null) {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeLong(((long[]) fieldValue)[i]);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeLong(0);
-                    }
-                }
+            if (PrimitiveArrays.isSupported(fieldElementClass)) {
+                // primitive array
+                PrimitiveArrays.write(eachContext.dos, fieldElementClass, fieldValue, eachContext.size, eachContext.bigEndian);
             } else {
                 // object array
                 Serdes annotation = fieldElementClass.getAnnotation(Serdes.class);
@@ -406,51 +290,17 @@ logger.log(Level.TRACE, "sizeScript: " + sizeScript);
         @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
             Object fieldValue = BeanUtil.getFieldValue(field, dstBean);
-            String sizeScript = element.getValue(field);
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue();
+                eachContext.size = eachContext.evalSize();
             }
 
             Class<?> genericTypeClass = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
-            if (genericTypeClass.equals(Byte.class)) {
-                // byte list
-                if (fieldValue == null) {
-                    fieldValue = new ArrayList<>(eachContext.size);
-                }
-                byte[] buf = new byte[eachContext.size];
-                eachContext.dis.readFully(buf, 0, eachContext.size);
-                for (byte b : buf) {
-                    ((List<Byte>) fieldValue).add(b);
-                }
-                context.setValue(fieldValue);
-            } else if (genericTypeClass.equals(Short.class)) {
-                // short list
-                if (fieldValue == null) {
-                    fieldValue = new ArrayList<>(eachContext.size);
-                }
-                for (int i = 0; i < eachContext.size; i++) {
-                    ((List<Short>) fieldValue).add(eachContext.dis.readShort());
-                }
-                context.setValue(fieldValue);
-            } else if (genericTypeClass.equals(Integer.class)) {
-                // int list
-                if (fieldValue == null) {
-                    fieldValue = new ArrayList<>(eachContext.size);
-                }
-                for (int i = 0; i < eachContext.size; i++) {
-                    ((List<Integer>) fieldValue).add(eachContext.dis.readInt());
-                }
-                context.setValue(fieldValue);
-            } else if (genericTypeClass.equals(Long.class)) {
-                // long list
-                if (fieldValue == null) {
-                    fieldValue = new ArrayList<>(eachContext.size);
-                }
-                for (int i = 0; i < eachContext.size; i++) {
-                    ((List<Long>) fieldValue).add(eachContext.dis.readLong());
-                }
-                context.setValue(fieldValue);
+            Class<?> primitiveClass = PrimitiveList.unbox(genericTypeClass);
+            if (primitiveClass != null) {
+                // primitive list, a view of the array. an initialized list is replaced, not to box elements
+                context.setValue(PrimitiveList.of(PrimitiveArrays.read(eachContext.dis, primitiveClass, null, eachContext.size, eachContext.bigEndian)));
             } else {
                 // object list
                 Serdes annotation = genericTypeClass.getAnnotation(Serdes.class);
@@ -482,68 +332,30 @@ logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (fieldValue != null) {
                 eachContext.size = ((List) fieldValue).size();
             }
-            String sizeScript = element.getValue(field);
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, "sizeScript: " + sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue();
+                eachContext.size = eachContext.evalSize();
             }
             if (eachContext.size == 0) throw new IllegalStateException("size must be set for: " + field.getName());
 
-            Class<?> fieldElementClass = field.getType().getComponentType();
-            if (fieldElementClass.equals(Byte.TYPE)) {
-                // byte list
-                if (fieldValue != null) {
-                    for (byte b : (List<Byte>) fieldValue) {
-                        eachContext.dos.writeByte(b);
-                    }
-                } else {
-                    byte[] buf = new byte[eachContext.size];
-                    eachContext.dos.write(buf, 0, eachContext.size);
-                }
-            } else if (fieldElementClass.equals(Short.TYPE)) {
-                // short list
-                if (fieldValue != null) {
-                    for (short s : (List<Short>) fieldValue) {
-                        eachContext.dos.writeShort(s);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeShort(0);
-                    }
-                }
-            } else if (fieldElementClass.equals(Integer.TYPE)) {
-                // int list
-                if (fieldValue != null) {
-                    for (int i : (List<Integer>) fieldValue) {
-                        eachContext.dos.writeInt(i);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeInt(0);
-                    }
-                }
-            } else if (fieldElementClass.equals(Long.TYPE)) {
-                // long list
-                if (fieldValue != null) {
-                    for (long l : (List<Long>) fieldValue) {
-                        eachContext.dos.writeLong(l);
-                    }
-                } else {
-                    for (int i = 0; i < eachContext.size; i++) {
-                        eachContext.dos.writeLong(0);
-                    }
-                }
+            Class<?> genericTypeClass = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            Class<?> primitiveClass = PrimitiveList.unbox(genericTypeClass);
+            if (primitiveClass != null) {
+                // primitive list, the backing array of a view is written as is
+                Object array = fieldValue != null ? PrimitiveList.toArray((List<?>) fieldValue, primitiveClass) : null;
+                PrimitiveArrays.write(eachContext.dos, primitiveClass, array, eachContext.size, eachContext.bigEndian);
             } else {
                 // object list
-                Serdes annotation = fieldElementClass.getAnnotation(Serdes.class);
+                Serdes annotation = genericTypeClass.getAnnotation(Serdes.class);
                 if (annotation == null) {
-                    throw new UnsupportedOperationException("use @Bound: " + fieldElementClass.getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
+                    throw new UnsupportedOperationException("use @Bound: " + genericTypeClass.getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
                 }
                 if (fieldValue == null) {
-                    fieldValue = Array.newInstance(fieldElementClass, eachContext.size);
+                    throw new IllegalStateException("list must be set for: " + field.getName());
                 }
                 for (int i = 0; i < eachContext.size; i++) {
-                    Object fieldBean = Array.get(fieldValue, i);
+                    Object fieldBean = ((List<?>) fieldValue).get(i);
                     eachContext.serialize(fieldBean, srcBean);
                 }
             }
@@ -555,256 +367,226 @@ logger.log(Level.TRACE, "sizeScript: " + sizeScript);
         // String deserializing
         @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String sizeScript = element.getValue(field);
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue();
+                eachContext.size = eachContext.evalSize();
             } else {
                 throw new IllegalArgumentException("a String field need value for length.");
             }
             byte[] bytes = new byte[eachContext.size];
             eachContext.dis.readFully(bytes);
-            String encoding = element.getEncoding(field);
-            if (encoding.isEmpty()) {
-                encoding = serdes.encoding(dstBean.getClass());
-            }
-            if (!encoding.isEmpty()) {
-logger.log(Level.DEBUG, encoding);
-                context.setValue(new String(bytes, Charset.forName(encoding)));
+            Charset charset = eachContext.entry.charset;
+            if (charset != null) {
+logger.log(Level.DEBUG, charset);
+                context.setValue(new String(bytes, charset));
             } else {
 logger.log(Level.DEBUG, () -> "no encoding: " + bytes.length + " bytes\n" + StringUtil.getDump(bytes));
                 context.setValue(new String(bytes));
             }
         }
 
-        // String serializing
+        // String serializing, padded with zeros to the size as a fixed layout does
         @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            eachContext.size = ((String) context.getValue()).length();
-            String sizeScript = element.getValue(field);
+            String value = (String) context.getValue();
+            eachContext.size = value == null ? 0 : value.length();
+            String sizeScript = eachContext.entry.value;
 logger.log(Level.TRACE, sizeScript);
             if (!sizeScript.isEmpty()) {
-                eachContext.size = Double.valueOf(eachContext.eval(sizeScript).toString()).intValue();
+                eachContext.size = eachContext.evalSize();
             }
             if (eachContext.size == 0) throw new IllegalStateException("size must be set for: " + field.getName());
-            String encoding = element.getEncoding(field);
-            if (encoding.isEmpty()) {
-                encoding = serdes.encoding(srcBean.getClass());
-            }
-            if (!encoding.isEmpty()) {
-logger.log(Level.DEBUG, encoding);
-                eachContext.dos.write(((String) context.getValue()).getBytes(Charset.forName(encoding)));
+            Charset charset = eachContext.entry.charset;
+            byte[] bytes;
+            if (value == null) {
+                bytes = new byte[0];
+            } else if (charset != null) {
+logger.log(Level.DEBUG, charset);
+                bytes = value.getBytes(charset);
             } else {
 logger.log(Level.DEBUG, () -> "no encoding: " + field.getName());
-                eachContext.dos.write(((String) context.getValue()).getBytes());
+                bytes = value.getBytes();
             }
+            if (sizeScript.isEmpty()) {
+                eachContext.dos.write(bytes);
+                return;
+            }
+            if (bytes.length > eachContext.size) {
+                throw new IllegalArgumentException("value is longer than " + eachContext.size + ": " + value + " at " + field.getName());
+            }
+            eachContext.dos.write(bytes);
+            PrimitiveArrays.writeZeros(eachContext.dos, eachContext.size - bytes.length); // padding
         }
     };
 
-    /** @throws IllegalArgumentException when type is not proper value */
-    private static Object read(DefaultEachContext eachContext, String type) throws IOException {
-        if (type.equalsIgnoreCase("byte")) {
-            eachContext.size = 1;
-            return eachContext.dis.readByte();
-        } else if (type.equalsIgnoreCase("unsigned byte")) {
-            eachContext.size = 1;
-            return eachContext.dis.readUnsignedByte();
-        } else if (type.equalsIgnoreCase("short")) {
-            eachContext.size = 2;
-            return eachContext.dis.readShort();
-        } else if (type.equalsIgnoreCase("unsigned short")) {
-            eachContext.size = 2;
-            return eachContext.dis.readUnsignedShort();
-        } else if (type.equalsIgnoreCase("int")) {
-            eachContext.size = 4;
-            return eachContext.dis.readInt();
-        } else if (type.equalsIgnoreCase("unsigned int")) {
-            eachContext.size = 4;
-            return eachContext.dis.readInt() & 0xffff_ffffL;
-        } else if (type.equalsIgnoreCase("long")) {
-            eachContext.size = 8;
-            return eachContext.dis.readLong();
-        } else {
-            throw new IllegalArgumentException(type);
-        }
+    /** reads a number of the type */
+    private static long read(DefaultEachContext eachContext, Schema.Type type) throws IOException {
+        eachContext.size = type.size;
+        return switch (type) {
+            case BYTE -> eachContext.dis.readByte();
+            case UNSIGNED_BYTE -> eachContext.dis.readUnsignedByte();
+            case SHORT -> eachContext.dis.readShort();
+            case UNSIGNED_SHORT -> eachContext.dis.readUnsignedShort();
+            case INT -> eachContext.dis.readInt();
+            case UNSIGNED_INT -> eachContext.dis.readInt() & 0xffff_ffffL;
+            case LONG -> eachContext.dis.readLong();
+        };
     }
 
-    /** @throws IllegalArgumentException when type is not proper value */
-    private static void write(DefaultEachContext eachContext, String type, Object value) throws IOException {
-logger.log(Level.TRACE, "field: " + eachContext.field.getName() + ", type: " + type + ", value: " + value);
-        if (type.equalsIgnoreCase("byte")) {
-            eachContext.size = 1;
-            eachContext.dos.writeByte((byte) value);
-        } else if (type.equalsIgnoreCase("unsigned byte")) {
-            eachContext.size = 1;
-            eachContext.dos.writeByte((byte) value);
-        } else if (type.equalsIgnoreCase("short")) {
-            eachContext.size = 2;
-            eachContext.dos.writeShort((short) value);
-        } else if (type.equalsIgnoreCase("unsigned short")) {
-            eachContext.size = 2;
-            eachContext.dos.writeShort((short) value);
-        } else if (type.equalsIgnoreCase("int")) {
-            eachContext.size = 4;
-            eachContext.dos.writeInt((int) value);
-        } else if (type.equalsIgnoreCase("unsigned int")) {
-            eachContext.size = 4;
-            eachContext.dos.writeInt((int) value);
-        } else if (type.equalsIgnoreCase("long")) {
-            eachContext.size = 8;
-            eachContext.dos.writeLong((long)value);
-        } else {
-            throw new IllegalArgumentException(type);
+    /** writes a number as the type */
+    private static void write(DefaultEachContext eachContext, Schema.Type type, long value) throws IOException {
+logger.log(Level.TRACE, () -> "field: " + eachContext.field.getName() + ", type: " + type + ", value: " + value);
+        eachContext.size = type.size;
+        switch (type) {
+            case BYTE, UNSIGNED_BYTE -> eachContext.dos.writeByte((int) value);
+            case SHORT, UNSIGNED_SHORT -> eachContext.dos.writeShort((int) value);
+            case INT, UNSIGNED_INT -> eachContext.dos.writeInt((int) value);
+            case LONG -> eachContext.dos.writeLong(value);
         }
     }
 
     /**
-     * Gets one of enum member.
-     * @return Arrays.stream(enumType.values()).filter(p).findFirst().get();
-     * @throws java.util.NoSuchElementException when not found
+     * @return the type keyword of {@link Element#value()}, or the default type
+     * @throws IllegalArgumentException when value is not a type keyword
      */
-    private static Enum<?> getEnum(Class<?> enumType, Predicate<Enum<?>> p) {
-        try {
-            // TODO "values()" is implementation specific?
-            Method method = enumType.getDeclaredMethod("values");
-logger.log(Level.TRACE, "getEnum: " + Arrays.toString((Enum<?>[]) method.invoke(null)));
-            return Arrays.stream((Enum<?>[]) method.invoke(null)).filter(p).findFirst().get();
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    private static Schema.Type typeOf(DefaultEachContext eachContext, Schema.Type defaultType) {
+        if (eachContext.entry.type != null) {
+            return eachContext.entry.type;
+        } else if (eachContext.entry.value.isEmpty()) {
+            return defaultType;
+        } else {
+            throw new IllegalArgumentException(eachContext.entry.value);
         }
     }
 
     /**
-     * Gets enum value by method "methodName".
-     * @return enumType.enumObject.methodName() e.g. EnumX.MEMBER_1.getValue()
-     * @throws IllegalStateException cannot get
+     * @return byte length of a string valued enum, {@link Element#value()} or the fixed length of values
+     * @throws IllegalArgumentException when no length is specified
      */
-    private static Object invokeValueMethod(Class<?> enumType, Object enumObject, String methodName) {
-logger.log(Level.TRACE, "invokeValueMethod: " + enumType + ", " + enumObject + ", " + methodName);
-        try {
-            Method method = enumType.getDeclaredMethod(methodName);
-            return method.invoke(enumObject);
-        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    private static int lengthOf(DefaultEachContext eachContext, EnumCodec codec) {
+        int length = eachContext.entry.value.isEmpty() ? codec.fixedLength(eachContext.entry.charset) : eachContext.evalSize();
+        if (length == 0) {
+            throw new IllegalArgumentException("a String valued enum field need value for length: " + eachContext.field.getName());
         }
+        return length;
     }
 
-    // Enum, value=type ("int"|"unsigned byte"|...)
+    // Enum, value=type ("int"|"unsigned byte"|...), byte length for a String valued enum
     protected final EachBinder enumEachBinder = new Binder.EnumEachBinder() {
         // Enum deserializing
         @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            // TODO fixed default value type "unsigned short"
-            Object value = read(eachContext, !type.isEmpty() ? type : "unsigned short");
+            EnumCodec codec = EnumCodec.of(field.getType());
+            if (codec.valueType == String.class) {
+                byte[] bytes = new byte[lengthOf(eachContext, codec)];
+                eachContext.dis.readFully(bytes);
+                eachContext.size = bytes.length;
+                int l = bytes.length;
+                while (l > 0 && bytes[l - 1] == 0) l--; // padding
+                Charset charset = eachContext.entry.charset;
+                eachContext.setValue(codec.decode(charset != null ? new String(bytes, 0, l, charset) : new String(bytes, 0, l)));
+            } else if (codec.valueType != null) {
+                // TODO fixed default value type "unsigned short"
+                long value = read(eachContext, typeOf(eachContext, Schema.Type.UNSIGNED_SHORT));
 logger.log(Level.TRACE, "value: " + value);
-            Class<?> enumValueType = enumValueType(field.getType());
-            if (enumValueType == Void.TYPE) {
-                eachContext.setValue(getEnum(field.getType(), e -> e.ordinal() == (Integer) value));
-                eachContext.size = 2;
-            } else if (enumValueType == Integer.TYPE) {
-                // TODO fixed getter method name "getValue"
-                eachContext.setValue(getEnum(field.getType(), e -> invokeValueMethod(field.getType(), e, "getValue").equals(value)));
-                eachContext.size = 4;
-            } else if (enumValueType == Long.TYPE) {
-                // TODO fixed getter method name "getValue"
-                eachContext.setValue(getEnum(field.getType(), e -> invokeValueMethod(field.getType(), e, "getValue").equals(value)));
-                eachContext.size = 8;
-            } else if (enumValueType == String.class) {
-                // TODO not implemented yet
-                throw new UnsupportedOperationException("use @Bound: " + enumValueType + "] at " + field.getName() + " (" + context.getSequence() + ")");
+                eachContext.setValue(codec.decode(value));
             } else {
-                throw new UnsupportedOperationException("use @Bound: " + enumValueType + "] at " + field.getName() + " (" + context.getSequence() + ")");
+                throw new UnsupportedOperationException("use @Bound: " + field.getType().getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
             }
         }
 
         // Enum serializing
         @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
             DefaultEachContext eachContext = (DefaultEachContext) context;
-            String type = element.getValue(field);
-            Class<?> enumValueType = enumValueType(field.getType());
-logger.log(Level.TRACE, "type: " + type + ", enumValueType: " + enumValueType);
-            if (enumValueType == Void.TYPE) {
-                if (!type.isEmpty()) {
-                    write(eachContext, type, ((Enum<?>) eachContext.getValue()).ordinal());
-                } else {
-                    // TODO fixed default value type "unsigned short"
-                    eachContext.dos.writeShort(((Enum<?>) eachContext.getValue()).ordinal());
-                    eachContext.size = 2;
-                }
-            } else if (enumValueType == Integer.TYPE) {
-                if (!type.isEmpty()) {
-                    write(eachContext, type, (Integer) invokeValueMethod(field.getType(), (Enum<?>) eachContext.getValue(), "getValue"));
-                } else {
-                    // TODO fixed getter method name "getValue"
-                    eachContext.dos.writeInt((Integer) invokeValueMethod(field.getType(), (Enum<?>) eachContext.getValue(), "getValue"));
-                    eachContext.size = 4;
-                }
-            } else if (enumValueType == Long.TYPE) {
-                if (!type.isEmpty()) {
-                    write(eachContext, type, (Long) invokeValueMethod(field.getType(), (Enum<?>) eachContext.getValue(), "getValue"));
-                } else {
-                    // TODO fixed getter method name "getValue"
-                    eachContext.dos.writeLong((Long) invokeValueMethod(field.getType(), (Enum<?>) eachContext.getValue(), "getValue"));
-                    eachContext.size = 8;
-                }
-            } else if (enumValueType == String.class) {
-                // TODO not implemented yet
-                throw new UnsupportedOperationException("use @Bound: " + enumValueType + "] at " + field.getName() + " (" + context.getSequence() + ")");
+            EnumCodec codec = EnumCodec.of(field.getType());
+            Enum<?> constant = (Enum<?>) eachContext.getValue();
+logger.log(Level.TRACE, "type: " + eachContext.entry.value + ", enumValueType: " + codec.valueType);
+            if (codec.valueType == String.class) {
+                int length = lengthOf(eachContext, codec);
+                String value = codec.encodeString(constant);
+                Charset charset = eachContext.entry.charset;
+                byte[] bytes = charset != null ? value.getBytes(charset) : value.getBytes();
+                if (bytes.length > length) {
+                    throw new IllegalArgumentException("value is longer than " + length + ": " + value + " at " + field.getName());
+                }
+                eachContext.dos.write(bytes);
+                eachContext.dos.write(new byte[length - bytes.length]); // padding
+                eachContext.size = length;
+            } else if (codec.valueType == Void.TYPE) {
+                // TODO fixed default value type "unsigned short"
+                write(eachContext, typeOf(eachContext, Schema.Type.SHORT), codec.encode(constant));
+            } else if (codec.valueType == Integer.TYPE) {
+                write(eachContext, typeOf(eachContext, Schema.Type.INT), codec.encode(constant));
+            } else if (codec.valueType == Long.TYPE) {
+                write(eachContext, typeOf(eachContext, Schema.Type.LONG), codec.encode(constant));
             } else {
-                throw new UnsupportedOperationException("use @Bound: " + enumValueType + "] at " + field.getName() + " (" + context.getSequence() + ")");
+                throw new UnsupportedOperationException("use @Bound: " + field.getType().getTypeName() + "] at " + field.getName() + " (" + context.getSequence() + ")");
             }
         }
     };
 
-    /**
-     * Gets a type of user defined enum value.
-     * TODO depends enum implementation?
-     * @return null no suitable type found
-     */
-    static Class<?> enumValueType(Class<?> enumClass) {
-        // enum constructor has
-        // parameters with (String:memberName, int:ordinal, XXX...:user specified types...)
-        // means from 3rd parameters are user defined values.
-if (logger.isLoggable(Level.TRACE)) {
- Arrays.stream(enumClass.getDeclaredConstructors()).forEach(c ->
-  logger.log(Level.TRACE, c.getName() + "." + ClassUtil.signatureWithName(c))
- );
-}
-        try {
-            // case simple enum, e.g.
-            // enum E { A, B, C }
-            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE);
-            return Void.TYPE; // use ordinal (means no user defined value)
-        } catch (NoSuchMethodException e) {
-logger.log(Level.TRACE, e);
-        }
-        try {
-            // case enum with integer value, e.g.
-            // enum E { A(1), B(2), C(4); final int v; public int getValue() {return v;} E(int v) {this.v = v;}
-            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, Integer.TYPE);
-            return Integer.TYPE; // integer value
-        } catch (NoSuchMethodException e) {
-logger.log(Level.TRACE, e);
-        }
-        try {
-            // case enum with long value, e.g.
-            // enum E { A(1L), B(2L), C(4L); final long v; public long getValue() {return v;} E(long v) {this.v = v;}
-            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, Long.TYPE);
-            return Long.TYPE; // integer value
-        } catch (NoSuchMethodException e) {
-logger.log(Level.TRACE, e);
-        }
-        try {
-            // case enum with String value, e.g.
-            // enum E { A("alpha"), B("bravo"), C(""); final String v; public String getValue() {return v;} E(String v) {this.v = v;}
-            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, String.class);
-            return String.class; // string value
-        } catch (NoSuchMethodException e) {
-logger.log(Level.TRACE, e);
-        }
-        return null;
-    }
+    // Region, value=script for byte length
+    protected final EachBinder regionEachBinder = new Binder.RegionEachBinder() {
+        @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            if (eachContext.entry.value.isEmpty()) throw new IllegalStateException("value must be set for: " + field.getName());
+            Region region = Region.read(eachContext.dis, eachContext.evalLength());
+            context.setValue(region);
+            eachContext.size = (int) Math.min(region.length(), Integer.MAX_VALUE);
+        }
+
+        @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            Region region = (Region) context.getValue();
+            if (region == null) throw new IllegalStateException("region must be set for: " + field.getName());
+            ((DefaultBeanBinder.DefaultOutputSource) eachContext.context.io).write(region);
+            eachContext.size = (int) Math.min(region.length(), Integer.MAX_VALUE);
+        }
+    };
+
+    // Columns, value=script for the number of records
+    protected final EachBinder columnsEachBinder = new Binder.ColumnsEachBinder() {
+        @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            if (eachContext.entry.value.isEmpty()) throw new IllegalStateException("value must be set for: " + field.getName());
+            eachContext.size = eachContext.evalSize();
+            Class<?> genericTypeClass = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            DefaultBeanBinder.DefaultContext beanContext = eachContext.context;
+            context.setValue(Columns.read(beanContext.beanBinder, (DefaultBeanBinder.DefaultInputSource) beanContext.io, genericTypeClass, eachContext.size, dstBean));
+        }
+
+        @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            Columns<?> columns = (Columns<?>) context.getValue();
+            if (columns == null) throw new IllegalStateException("columns must be set for: " + field.getName());
+            DefaultBeanBinder.DefaultContext beanContext = eachContext.context;
+            columns.write(beanContext.beanBinder, (DefaultBeanBinder.DefaultOutputSource) beanContext.io, srcBean);
+            eachContext.size = columns.size();
+        }
+    };
+
+    // LazyList, value=script for the number of fixed size elements, or the byte length of others
+    protected final EachBinder lazyListEachBinder = new Binder.LazyListEachBinder() {
+        @Override public void bind(EachContext context, Object dstBean, Field field) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            if (eachContext.entry.value.isEmpty()) throw new IllegalStateException("value must be set for: " + field.getName());
+            Class<?> genericTypeClass = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            DefaultBeanBinder.DefaultContext beanContext = eachContext.context;
+            long count = LazyList.fixedLayout(beanContext.beanBinder, genericTypeClass) != null ? eachContext.evalSize() : eachContext.evalLength();
+            LazyList<?> list = LazyList.read(beanContext.beanBinder, (DefaultBeanBinder.DefaultInputSource) beanContext.io, genericTypeClass, count);
+            context.setValue(list);
+            eachContext.size = (int) Math.min(count, Integer.MAX_VALUE);
+        }
+
+        @Override public void bind(Object srcBean, Field field, EachContext context) throws IOException {
+            DefaultEachContext eachContext = (DefaultEachContext) context;
+            LazyList<?> list = (LazyList<?>) context.getValue();
+            if (list == null) throw new IllegalStateException("list must be set for: " + field.getName());
+            ((DefaultBeanBinder.DefaultOutputSource) eachContext.context.io).write(list.region());
+            eachContext.size = (int) Math.min(list instanceof LazyList.Fixed<?> ? list.size() : list.region().length(), Integer.MAX_VALUE);
+        }
+    };
 
     /** */
     private final EachBinder[] eachBinders = {
@@ -819,6 +601,9 @@ logger.log(Level.TRACE, e);
         arrayEachBinder,
         stringEachBinder,
         enumEachBinder,
+        regionEachBinder,
+        columnsEachBinder,
+        lazyListEachBinder,
         listEachBinder,
     };
 
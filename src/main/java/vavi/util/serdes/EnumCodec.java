@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import vavi.beans.ClassUtil;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * EnumCodec. conversion tables between enum constants and those values, built once for each enum class.
+ * <p>
+ * a value of an enum is
+ * <li>{@code ordinal()} for a simple enum</li>
+ * <li>{@code getValue()} for an enum constructed with an int, a long or a String</li>
+ * numbers are decoded by an array index when those are dense, otherwise by a hash probe.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class EnumCodec {
+
+    private static final Logger logger = getLogger(EnumCodec.class.getName());
+
+    /** codecs by enum class */
+    private static final ClassValue<EnumCodec> codecs = new ClassValue<>() {
+        @Override protected EnumCodec computeValue(Class<?> type) {
+            return new EnumCodec(type);
+        }
+    };
+
+    /** gets the codec of the enum class */
+    static EnumCodec of(Class<?> enumClass) {
+        return codecs.get(enumClass);
+    }
+
+    /** TODO fixed getter method name "getValue" */
+    private static final String VALUE_METHOD = "getValue";
+
+    /** max length of a direct table */
+    private static final int MAX_TABLE = 1024;
+
+    /** the enum class */
+    final Class<?> enumClass;
+
+    /**
+     * {@link Void#TYPE} for ordinal, {@link Integer#TYPE}, {@link Long#TYPE} or {@link String}.
+     * null means no suitable type.
+     */
+    final Class<?> valueType;
+
+    /** by ordinal */
+    private final Enum<?>[] constants;
+
+    /** numeric values by ordinal */
+    private final long[] values;
+
+    /** string values by ordinal */
+    private final String[] strings;
+
+    /** direct table, index is a value, nullable */
+    private final Enum<?>[] table;
+
+    /** open addressing hash keys, nullable */
+    private final long[] keys;
+
+    /** open addressing hash slots, nullable */
+    private final Enum<?>[] slots;
+
+    /** constants by string value, nullable */
+    private final Map<String, Enum<?>> byString;
+
+    private EnumCodec(Class<?> enumClass) {
+        this.enumClass = enumClass;
+        this.valueType = enumValueType(enumClass);
+        this.constants = (Enum<?>[]) enumClass.getEnumConstants();
+
+        if (valueType == String.class) {
+            Method method = valueMethod(enumClass);
+            this.strings = new String[constants.length];
+            this.byString = new HashMap<>();
+            for (Enum<?> constant : constants) {
+                String value = (String) invoke(method, constant);
+                strings[constant.ordinal()] = value;
+                byString.putIfAbsent(value, constant);
+            }
+            this.values = null;
+            this.table = null;
+            this.keys = null;
+            this.slots = null;
+            return;
+        }
+        this.strings = null;
+        this.byString = null;
+
+        this.values = new long[constants.length];
+        if (valueType == Integer.TYPE || valueType == Long.TYPE) {
+            Method method = valueMethod(enumClass);
+            for (Enum<?> constant : constants) {
+                values[constant.ordinal()] = ((Number) invoke(method, constant)).longValue();
+            }
+        } else {
+            for (Enum<?> constant : constants) {
+                values[constant.ordinal()] = constant.ordinal();
+            }
+        }
+
+        long min = Arrays.stream(values).min().orElse(0);
+        long max = Arrays.stream(values).max().orElse(-1);
+        if (min >= 0 && max < Math.max(MAX_TABLE, constants.length * 4L)) {
+            this.table = new Enum<?>[(int) max + 1];
+            for (int i = constants.length - 1; i >= 0; i--) {
+                table[(int) values[i]] = constants[i]; // the first one wins
+            }
+            this.keys = null;
+            this.slots = null;
+        } else {
+            int capacity = Integer.highestOneBit(Math.max(constants.length, 1) * 2) * 2;
+            this.keys = new long[capacity];
+            this.slots = new Enum<?>[capacity];
+            for (Enum<?> constant : constants) {
+                long value = values[constant.ordinal()];
+                int i = index(value);
+                while (slots[i] != null && keys[i] != value) {
+                    i = (i + 1) & (capacity - 1);
+                }
+                if (slots[i] == null) {
+                    keys[i] = value;
+                    slots[i] = constant;
+                }
+            }
+            this.table = null;
+        }
+logger.log(Level.TRACE, () -> enumClass.getName() + ": " + valueType + ", " + (table != null ? "table: " + table.length : "hash: " + slots.length));
+    }
+
+    /** */
+    private int index(long value) {
+        long h = value * 0x9e37_79b9_7f4a_7c15L;
+        return (int) (h ^ (h >>> 32)) & (keys.length - 1);
+    }
+
+    /**
+     * @throws NoSuchElementException when not found
+     */
+    Enum<?> decode(long value) {
+        if (table != null) {
+            if (value >= 0 && value < table.length && table[(int) value] != null) {
+                return table[(int) value];
+            }
+        } else if (slots != null) {
+            for (int i = index(value); slots[i] != null; i = (i + 1) & (slots.length - 1)) {
+                if (keys[i] == value) {
+                    return slots[i];
+                }
+            }
+        }
+        throw new NoSuchElementException(enumClass.getName() + ": " + value);
+    }
+
+    /**
+     * @throws NoSuchElementException when not found
+     */
+    Enum<?> decode(String value) {
+        Enum<?> constant = byString.get(value);
+        if (constant == null) {
+            throw new NoSuchElementException(enumClass.getName() + ": " + value);
+        }
+        return constant;
+    }
+
+    /** @return ordinal or the value of {@code getValue()} */
+    long encode(Enum<?> constant) {
+        return values[constant.ordinal()];
+    }
+
+    /** @return the value of {@code getValue()} */
+    String encodeString(Enum<?> constant) {
+        return strings[constant.ordinal()];
+    }
+
+    /**
+     * @param charset nullable, null means the system encoding
+     * @return byte length of string values, 0 when lengths are not the same
+     */
+    int fixedLength(Charset charset) {
+        int length = -1;
+        for (String string : strings) {
+            int l = charset != null ? string.getBytes(charset).length : string.getBytes().length;
+            if (length != -1 && l != length) {
+                return 0;
+            }
+            length = l;
+        }
+        return Math.max(length, 0);
+    }
+
+    /** @throws IllegalStateException no value method */
+    private static Method valueMethod(Class<?> enumClass) {
+        try {
+            Method method = enumClass.getDeclaredMethod(VALUE_METHOD);
+            method.setAccessible(true);
+            return method;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @throws IllegalStateException cannot get */
+    private static Object invoke(Method method, Enum<?> constant) {
+        try {
+            return method.invoke(constant);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets a type of user defined enum value.
+     * TODO depends enum implementation?
+     * @return null no suitable type found
+     */
+    static Class<?> enumValueType(Class<?> enumClass) {
+        // enum constructor has
+        // parameters with (String:memberName, int:ordinal, XXX...:user specified types...)
+        // means from 3rd parameters are user defined values.
+if (logger.isLoggable(Level.TRACE)) {
+ Arrays.stream(enumClass.getDeclaredConstructors()).forEach(c ->
+  logger.log(Level.TRACE, c.getName() + "." + ClassUtil.signatureWithName(c))
+ );
+}
+        try {
+            // case simple enum, e.g.
+            // enum E { A, B, C }
+            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE);
+            return Void.TYPE; // use ordinal (means no user defined value)
+        } catch (NoSuchMethodException e) {
+logger.log(Level.TRACE, e);
+        }
+        try {
+            // case enum with integer value, e.g.
+            // enum E { A(1), B(2), C(4); final int v; public int getValue() {return v;} E(int v) {this.v = v;}
+            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, Integer.TYPE);
+            return Integer.TYPE; // integer value
+        } catch (NoSuchMethodException e) {
+logger.log(Level.TRACE, e);
+        }
+        try {
+            // case enum with long value, e.g.
+            // enum E { A(1L), B(2L), C(4L); final long v; public long getValue() {return v;} E(long v) {this.v = v;}
+            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, Long.TYPE);
+            return Long.TYPE; // integer value
+        } catch (NoSuchMethodException e) {
+logger.log(Level.TRACE, e);
+        }
+        try {
+            // case enum with String value, e.g.
+            // enum E { A("alpha"), B("bravo"), C(""); final String v; public String getValue() {return v;} E(String v) {this.v = v;}
+            Constructor<?> c = enumClass.getDeclaredConstructor(String.class, Integer.TYPE, String.class);
+            return String.class; // string value
+        } catch (NoSuchMethodException e) {
+logger.log(Level.TRACE, e);
+        }
+        return null;
+    }
+}
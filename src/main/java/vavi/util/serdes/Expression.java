@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.util.Objects;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultContext;
+
+
+/**
+ * Expression. a compiled script of {@link Element#value()} or {@link Element#validation()}
+ * for {@link DefaultBeanBinder}.
+ * <p>
+ * the common subset of scripts is compiled into java lambdas by {@link ExpressionCompiler},
+ * others are evaluated by the script engine ({@link ScriptEngines}).
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ * @see ExpressionCompiler
+ */
+@FunctionalInterface
+interface Expression {
+
+    /**
+     * @throws IllegalStateException evaluation by the script engine failed
+     */
+    Object eval(DefaultContext context);
+
+    /** compiled each time, a caller keeps the compiled one, see {@link Schema.Entry#valueExpression()} */
+    static Expression compile(String script) {
+        return ExpressionCompiler.compile(script);
+    }
+
+    /**
+     * compares a field value with an evaluated value for validation.
+     * numbers are compared by those values, arrays are compared deeply.
+     */
+    static boolean matches(Object actual, Object expected) {
+        if (actual instanceof Number a && expected instanceof Number e) {
+            return ExpressionCompiler.compare(a, e) == 0;
+        } else {
+            return Objects.deepEquals(actual, expected);
+        }
+    }
+}
@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultContext;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * ExpressionCompiler. compiles scripts into java lambdas.
+ * <pre>
+ * supported subset
+ *
+ *  * literals ... integer (decimal, {@code 0x}, {@code 0b}, octal, {@code L} suffix),
+ *                 string quoted by {@code "} or {@code '} w/o escapes and {@code $}
+ *  * variables ... {@code $0}, {@code $#}, {@code $_}, {@code $__}
+ *  * properties ... {@code $_.name} (getter or field), {@code length} of an array
+ *  * functions ... {@code len(arg)}, {@code sizeof(arg)}
+ *  * operators ... {@code * / % + - << >> >>> < <= > >= == != & ^ |}, unary {@code - + ~}, parentheses
+ * </pre>
+ * arithmetic follows groovy's, except a division not divisible results a double instead of a BigDecimal.
+ * a script out of the subset, or a value that the subset cannot handle at runtime
+ * is evaluated by the script engine as it is.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class ExpressionCompiler {
+
+    private static final Logger logger = getLogger(ExpressionCompiler.class.getName());
+
+    private ExpressionCompiler() {
+    }
+
+
+    /** not supported by this compiler, no stack trace */
+    static final class Unsupported extends RuntimeException {
+        Unsupported(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** {@code sizeof($#)} in a script */
+    private static final Pattern SIZEOF = Pattern.compile("\\bsizeof\\(\\s*(\\$\\d+)\\s*\\)");
+
+    /**
+     * not cached here, a compiled one holds classes resolved at runtime,
+     * so it is kept by a schema entry, i.e. by the class of the bean.
+     */
+    static Expression compile(String script) {
+        // sizes are found by field variables not by values
+        String rewritten = SIZEOF.matcher(script).replaceAll(m -> "sizeofVariable('" + Matcher.quoteReplacement(m.group(1)) + "')");
+        Expression fallback = context -> context.evalScript(rewritten);
+        try {
+            Expression expression = new Parser(script).parse();
+logger.log(Level.TRACE, "compiled: " + script);
+            return context -> {
+                try {
+                    return expression.eval(context);
+                } catch (Unsupported e) {
+logger.log(Level.TRACE, "fallback: " + script + ", " + e.getMessage());
+                    return fallback.eval(context);
+                }
+            };
+        } catch (Unsupported e) {
+logger.log(Level.DEBUG, "script engine is used: " + script + ", " + e.getMessage());
+            return fallback;
+        }
+    }
+
+    /** recursive descent parser */
+    private static final class Parser {
+
+        final String script;
+        int p;
+
+        Parser(String script) {
+            this.script = script;
+        }
+
+        Expression parse() {
+            Expression e = or();
+            skipSpaces();
+            if (p < script.length()) {
+                throw new Unsupported("unexpected: " + script.substring(p));
+            }
+            return e;
+        }
+
+        void skipSpaces() {
+            while (p < script.length() && Character.isWhitespace(script.charAt(p))) {
+                p++;
+            }
+        }
+
+        /** consumes operator op, but not the prefix of a longer operator */
+        boolean accept(String op, String... longer) {
+            skipSpaces();
+            if (!script.startsWith(op, p)) {
+                return false;
+            }
+            for (String l : longer) {
+                if (script.startsWith(l, p)) {
+                    return false;
+                }
+            }
+            p += op.length();
+            return true;
+        }
+
+        Expression or() {
+            Expression l = xor();
+            while (accept("|", "||", "|=")) {
+                Expression a = l, b = xor();
+                l = c -> bitwise(a.eval(c), b.eval(c), '|');
+            }
+            return l;
+        }
+
+        Expression xor() {
+            Expression l = and();
+            while (accept("^", "^=")) {
+                Expression a = l, b = and();
+                l = c -> bitwise(a.eval(c), b.eval(c), '^');
+            }
+            return l;
+        }
+
+        Expression and() {
+            Expression l = equality();
+            while (accept("&", "&&", "&=")) {
+                Expression a = l, b = equality();
+                l = c -> bitwise(a.eval(c), b.eval(c), '&');
+            }
+            return l;
+        }
+
+        Expression equality() {
+            Expression l = relational();
+            while (true) {
+                Expression a = l;
+                if (accept("==", "===")) {
+                    Expression b = relational();
+                    l = c -> isEqual(a.eval(c), b.eval(c));
+                } else if (accept("!=", "!==")) {
+                    Expression b = relational();
+                    l = c -> !isEqual(a.eval(c), b.eval(c));
+                } else {
+                    return l;
+                }
+            }
+        }
+
+        Expression relational() {
+            Expression l = shift();
+            while (true) {
+                Expression a = l;
+                if (accept("<=", "<=>")) {
+                    Expression b = shift();
+                    l = c -> compare(toNumber(a.eval(c)), toNumber(b.eval(c))) <= 0;
+                } else if (accept(">=")) {
+                    Expression b = shift();
+                    l = c -> compare(toNumber(a.eval(c)), toNumber(b.eval(c))) >= 0;
+                } else if (accept("<", "<<", "<=")) {
+                    Expression b = shift();
+                    l = c -> compare(toNumber(a.eval(c)), toNumber(b.eval(c))) < 0;
+                } else if (accept(">", ">>", ">=")) {
+                    Expression b = shift();
+                    l = c -> compare(toNumber(a.eval(c)), toNumber(b.eval(c))) > 0;
+                } else {
+                    return l;
+                }
+            }
+        }
+
+        Expression shift() {
+            Expression l = additive();
+            while (true) {
+                Expression a = l;
+                if (accept(">>>", ">>>=")) {
+                    Expression b = additive();
+                    l = c -> bitwise(a.eval(c), b.eval(c), 'u');
+                } else if (accept("<<", "<<=")) {
+                    Expression b = additive();
+                    l = c -> bitwise(a.eval(c), b.eval(c), '<');
+                } else if (accept(">>", ">>=", ">>>")) {
+                    Expression b = additive();
+                    l = c -> bitwise(a.eval(c), b.eval(c), '>');
+                } else {
+                    return l;
+                }
+            }
+        }
+
+        Expression additive() {
+            Expression l = multiplicative();
+            while (true) {
+                Expression a = l;
+                if (accept("+", "++", "+=")) {
+                    Expression b = multiplicative();
+                    l = c -> arithmetic(a.eval(c), b.eval(c), '+');
+                } else if (accept("-", "--", "-=")) {
+                    Expression b = multiplicative();
+                    l = c -> arithmetic(a.eval(c), b.eval(c), '-');
+                } else {
+                    return l;
+                }
+            }
+        }
+
+        Expression multiplicative() {
+            Expression l = unary();
+            while (true) {
+                Expression a = l;
+                if (accept("*", "**", "*=")) {
+                    Expression b = unary();
+                    l = c -> arithmetic(a.eval(c), b.eval(c), '*');
+                } else if (accept("/", "/=")) {
+                    Expression b = unary();
+                    l = c -> arithmetic(a.eval(c), b.eval(c), '/');
+                } else if (accept("%", "%=")) {
+                    Expression b = unary();
+                    l = c -> arithmetic(a.eval(c), b.eval(c), '%');
+                } else {
+                    return l;
+                }
+            }
+        }
+
+        Expression unary() {
+            if (accept("-", "--")) {
+                Expression a = unary();
+                return c -> arithmetic(0, a.eval(c), '-');
+            } else if (accept("+", "++")) {
+                Expression a = unary();
+                return c -> toNumber(a.eval(c));
+            } else if (accept("~")) {
+                Expression a = unary();
+                return c -> bitwise(a.eval(c), -1, '^');
+            } else {
+                return postfix();
+            }
+        }
+
+        Expression postfix() {
+            Expression e = primary();
+            while (accept(".", "..", ".&", ".@")) {
+                String name = identifier();
+                skipSpaces();
+                if (name == null || (p < script.length() && script.charAt(p) == '(')) {
+                    throw new Unsupported("method call");
+                }
+                Property property = new Property(name);
+                Expression target = e;
+                e = c -> property.get(target.eval(c));
+            }
+            return e;
+        }
+
+        Expression primary() {
+            skipSpaces();
+            if (p >= script.length()) {
+                throw new Unsupported("unexpected end");
+            }
+            char ch = script.charAt(p);
+            if (ch == '(') {
+                p++;
+                Expression e = or();
+                if (!accept(")")) {
+                    throw new Unsupported("')' expected");
+                }
+                return e;
+            } else if (Character.isDigit(ch)) {
+                Object value = integer();
+                return c -> value;
+            } else if (ch == '"' || ch == '\'') {
+                String value = string(ch);
+                return c -> value;
+            }
+            String name = identifier();
+            if (name == null) {
+                throw new Unsupported("unexpected: " + ch);
+            }
+            if (accept("(")) {
+                if (name.equals("sizeof")) {
+                    // sizeof a field is looked up by its sequence
+                    int s = p;
+                    String variable = identifier();
+                    if (variable != null && variable.matches("\\$\\d+") && accept(")")) {
+                        return c -> c.sizeOfVariable(variable);
+                    }
+                    p = s;
+                }
+                Expression arg = or();
+                if (!accept(")")) {
+                    throw new Unsupported("function w/ multiple arguments");
+                }
+                return switch (name) {
+                    case "len" -> c -> DefaultContext.len(arg.eval(c));
+                    case "sizeof" -> throw new Unsupported("sizeof w/o a field variable");
+                    default -> throw new Unsupported("function: " + name);
+                };
+            }
+            return switch (name) {
+                case "true" -> c -> Boolean.TRUE;
+                case "false" -> c -> Boolean.FALSE;
+                case "null" -> c -> null;
+                default -> c -> variable(c, name);
+            };
+        }
+
+        /** @return null when not an identifier */
+        String identifier() {
+            skipSpaces();
+            int s = p;
+            if (p < script.length() && Character.isJavaIdentifierStart(script.charAt(p))) {
+                p++;
+                while (p < script.length() && Character.isJavaIdentifierPart(script.charAt(p))) {
+                    p++;
+                }
+            }
+            return p > s ? script.substring(s, p) : null;
+        }
+
+        /** integer literal as int or long */
+        Object integer() {
+            int s = p;
+            while (p < script.length() && (Character.isLetterOrDigit(script.charAt(p)) || script.charAt(p) == '_')) {
+                p++;
+            }
+            if (p < script.length() && script.charAt(p) == '.' && p + 1 < script.length() && Character.isDigit(script.charAt(p + 1))) {
+                throw new Unsupported("decimal");
+            }
+            String literal = script.substring(s, p).replace("_", "").toLowerCase();
+            boolean isLong = literal.endsWith("l");
+            if (isLong) {
+                literal = literal.substring(0, literal.length() - 1);
+            }
+            int radix = 10;
+            if (literal.startsWith("0x")) {
+                radix = 16;
+                literal = literal.substring(2);
+            } else if (literal.startsWith("0b")) {
+                radix = 2;
+                literal = literal.substring(2);
+            } else if (literal.length() > 1 && literal.startsWith("0")) {
+                radix = 8;
+                literal = literal.substring(1);
+            }
+            long value;
+            try {
+                value = radix == 10 ? Long.parseLong(literal) : Long.parseUnsignedLong(literal, radix);
+            } catch (NumberFormatException e) {
+                throw new Unsupported("number: " + script.substring(s, p));
+            }
+            if (isLong) {
+                return value;
+            } else if (value >= 0 && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            } else {
+                return value;
+            }
+        }
+
+        /** string literal w/o escapes and interpolations */
+        String string(char quote) {
+            int s = ++p;
+            while (p < script.length() && script.charAt(p) != quote) {
+                char ch = script.charAt(p);
+                if (ch == '\\' || ch == '$') {
+                    throw new Unsupported("string w/ escapes or interpolations");
+                }
+                p++;
+            }
+            if (p >= script.length() || script.startsWith("\"\"\"", s - 1) || script.startsWith("'''", s - 1)) {
+                throw new Unsupported("string");
+            }
+            return script.substring(s, p++);
+        }
+    }
+
+    /** bound variable, {@code $0}, {@code $#}, {@code $_}, {@code $__} etc. */
+    private static Object variable(DefaultContext context, String name) {
+        if (!context.bindings.containsKey(name)) {
+            throw new Unsupported("no variable: " + name);
+        }
+        return context.bindings.get(name);
+    }
+
+    /** property access by a getter or a field */
+    private static final class Property {
+
+        final String name;
+
+        /** last resolved class and its accessor */
+        volatile Object[] cache;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+        Object get(Object target) {
+            if (target == null) {
+                throw new Unsupported("null");
+            }
+            Class<?> clazz = target.getClass();
+            if (clazz.isArray() && name.equals("length")) {
+                return Array.getLength(target);
+            }
+            Object[] c = cache;
+            if (c == null || c[0] != clazz) {
+                c = new Object[] { clazz, resolve(clazz) };
+                cache = c;
+            }
+            try {
+                if (c[1] instanceof Method method) {
+                    return method.invoke(target);
+                } else {
+                    return ((Field) c[1]).get(target);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new Unsupported(e.toString());
+            }
+        }
+
+        private Object resolve(Class<?> clazz) {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String getter : new String[] { "get" + suffix, "is" + suffix }) {
+                try {
+                    Method method = clazz.getMethod(getter);
+                    if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                        return method;
+                    }
+                } catch (NoSuchMethodException e) {
+                    // next
+                }
+            }
+            for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+                try {
+                    Field field = c.getDeclaredField(name);
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        break;
+                    }
+                    field.setAccessible(true);
+                    return field;
+                } catch (NoSuchFieldException e) {
+                    // super class
+                } catch (RuntimeException e) {
+                    break;
+                }
+            }
+            throw new Unsupported("no property: " + clazz.getName() + "." + name);
+        }
+    }
+
+    /** @throws Unsupported value is not a number */
+    private static Number toNumber(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ||
+                value instanceof Double || value instanceof Float) {
+            return (Number) value;
+        }
+        throw new Unsupported("not a number: " + (value == null ? null : value.getClass().getName()));
+    }
+
+    private static boolean isFloating(Number n) {
+        return n instanceof Double || n instanceof Float;
+    }
+
+    /** compares numbers by those values */
+    static int compare(Number a, Number b) {
+        if (isFloating(a) || isFloating(b)) {
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        } else {
+            return Long.compare(a.longValue(), b.longValue());
+        }
+    }
+
+    /** groovy's "==" */
+    private static boolean isEqual(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return compare(toNumber(a), toNumber(b)) == 0;
+        } else if ((a != null && a.getClass().isArray()) || (b != null && b.getClass().isArray())) {
+            throw new Unsupported("array equality");
+        } else {
+            return Objects.equals(a, b);
+        }
+    }
+
+    /** int op int is int, long is promoted, floating is promoted to double */
+    private static Object arithmetic(Object a, Object b, char op) {
+        Number x = toNumber(a);
+        Number y = toNumber(b);
+        if (isFloating(x) || isFloating(y)) {
+            double l = x.doubleValue(), r = y.doubleValue();
+            return switch (op) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                case '/' -> l / r;
+                default -> l % r;
+            };
+        } else if (x instanceof Long || y instanceof Long) {
+            long l = x.longValue(), r = y.longValue();
+            return switch (op) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                case '/' -> divide(l, r);
+                default -> remainder(l, r);
+            };
+        } else {
+            int l = x.intValue(), r = y.intValue();
+            return switch (op) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                case '/' -> {
+                    Object q = divide(l, r);
+                    yield q instanceof Long v ? (Object) v.intValue() : q;
+                }
+                default -> (int) remainder(l, r);
+            };
+        }
+    }
+
+    /** integer if divisible, otherwise double */
+    private static Object divide(long l, long r) {
+        if (r == 0) {
+            throw new Unsupported("division by zero");
+        }
+        return l % r == 0 ? (Object) (l / r) : (double) l / r;
+    }
+
+    private static long remainder(long l, long r) {
+        if (r == 0) {
+            throw new Unsupported("division by zero");
+        }
+        return l % r;
+    }
+
+    /** bitwise operators and shifts for integers */
+    private static Object bitwise(Object a, Object b, char op) {
+        Number x = toNumber(a);
+        Number y = toNumber(b);
+        if (isFloating(x) || isFloating(y)) {
+            throw new Unsupported("bitwise operation for floating");
+        }
+        if (x instanceof Long || (y instanceof Long && op != '<' && op != '>' && op != 'u')) {
+            long l = x.longValue(), r = y.longValue();
+            return switch (op) {
+                case '&' -> l & r;
+                case '|' -> l | r;
+                case '^' -> l ^ r;
+                case '<' -> l << r;
+                case '>' -> l >> r;
+                default -> l >>> r;
+            };
+        } else {
+            int l = x.intValue(), r = y.intValue();
+            return switch (op) {
+                case '&' -> l & r;
+                case '|' -> l | r;
+                case '^' -> l ^ r;
+                case '<' -> l << r;
+                case '>' -> l >> r;
+                default -> l >>> r;
+            };
+        }
+    }
+}
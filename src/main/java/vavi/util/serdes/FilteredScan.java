@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+
+
+/**
+ * FilteredScan. scans consecutive records and binds only ones a predicate over key fields accepts.
+ * <p>
+ * for each record, fields until the last key field are decoded, then the predicate is tested
+ * with the bean. the rest of a rejected record is skipped as a projection of the keys
+ * (see {@link Serdes.Util#deserialize(Object, Object, Set)}), by a seek for a channel, a mapped file
+ * or a buffer. the rest of an accepted record is decoded fully. so key fields should be early ones,
+ * a field before the last key field is decoded for every record.
+ * </p>
+ * <p>
+ * a source is the same as {@link Serdes.Util#deserialize(Object, Object)}, records are read until
+ * the end of the source. a {@link java.nio.channels.SeekableByteChannel} is positioned after
+ * the last read record by {@link #close()}. not thread safe.
+ * </p>
+ * <pre>
+ * try (FilteredScan&lt;Box&gt; scan = FilteredScan.of(channel, Box.class, Set.of("type"), box -&gt; box.type == MOOV)) {
+ *     for (Box box = scan.next(); box != null; box = scan.next()) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class FilteredScan<T> implements Closeable {
+
+    /** a predicate and the state of the current record, for {@link DefaultBeanBinder#skip} */
+    static final class Filter {
+
+        /** */
+        private final Predicate<Object> predicate;
+
+        /** */
+        private final Projection keys;
+
+        /** index of the last key entry */
+        private final int last;
+
+        /** null before tested */
+        private Boolean accepted;
+
+        /** @throws IllegalArgumentException a key is not a field of the schema */
+        Filter(Schema schema, Set<String> keys, Predicate<Object> predicate) {
+            this.predicate = predicate;
+            this.keys = schema.projection(keys);
+            this.last = Arrays.stream(schema.entries)
+                    .filter(e -> keys.contains(e.field.getName()))
+                    .mapToInt(e -> e.index)
+                    .max().orElse(-1);
+        }
+
+        /** for the next record */
+        void reset() {
+            accepted = null;
+        }
+
+        /** @return the result of the predicate, tested once a record */
+        boolean test(Object bean) {
+            if (accepted == null) {
+                accepted = predicate.test(bean);
+            }
+            return accepted;
+        }
+
+        /** @return null to decode the entry, the key projection after the keys of a rejected record */
+        Projection projection(Schema.Entry entry, Object bean) {
+            if (entry.index <= last || test(bean)) {
+                return null;
+            }
+            return keys;
+        }
+    }
+
+    /** record class */
+    private final Class<T> type;
+
+    /** */
+    private final Schema schema;
+
+    /** */
+    private final DefaultBeanBinder beanBinder;
+
+    /** */
+    private final DefaultInputSource in;
+
+    /** nullable, null when the default binder is not {@link DefaultBinder} */
+    private final Filter filter;
+
+    /** */
+    private final Predicate<? super T> predicate;
+
+    /** number of records read */
+    private long scanned;
+
+    /** number of records accepted */
+    private long accepted;
+
+    @SuppressWarnings("unchecked")
+    private FilteredScan(Object source, Class<T> type, Set<String> keys, Predicate<? super T> predicate) throws IOException {
+        this.schema = Schema.of(type);
+        if (!(schema.newBeanBinder() instanceof DefaultBeanBinder beanBinder)) {
+            throw new IllegalArgumentException("not a default bean binder: " + type.getName());
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("no keys");
+        }
+        this.type = type;
+        this.beanBinder = beanBinder;
+        this.predicate = predicate;
+        this.filter = beanBinder.getDefaultBinder().getClass() == DefaultBinder.class ?
+                new Filter(schema, keys, bean -> predicate.test((T) bean)) : null;
+        this.in = (DefaultInputSource) beanBinder.getIOSource(source, schema.bigEndian);
+        in.filter = filter;
+    }
+
+    /**
+     * @param source the same as {@link Serdes.Util#deserialize(Object, Object)}
+     * @param keys field names the predicate refers
+     * @param predicate tested with a bean only key fields and fields before them are set
+     * @throws IllegalArgumentException keys are empty or not fields of the type,
+     *         or the bean binder of the type is not a {@link DefaultBeanBinder}
+     */
+    public static <T> FilteredScan<T> of(Object source, Class<T> type, Set<String> keys, Predicate<? super T> predicate) throws IOException {
+        return new FilteredScan<>(source, type, keys, predicate);
+    }
+
+    /**
+     * @return the next accepted record fully bound, null at the end of the source
+     * @throws java.io.EOFException the last record is incomplete
+     * @throws IllegalStateException a record has no byte
+     */
+    public T next() throws IOException {
+        while (!in.atEnd()) {
+            T bean = schema.newInstance();
+            scanned++;
+            long position = in.position();
+            if (filter != null) {
+                filter.reset();
+            }
+            beanBinder.deserialize0(in, bean, null);
+            if (in.position() <= position) {
+                throw new IllegalStateException("empty record at: " + position);
+            }
+            if (filter != null ? filter.test(bean) : predicate.test(bean)) {
+                accepted++;
+                return bean;
+            }
+        }
+        return null;
+    }
+
+    /** @return number of records read, including rejected ones */
+    public long scanned() {
+        return scanned;
+    }
+
+    /** @return number of records accepted */
+    public long accepted() {
+        return accepted;
+    }
+
+    /** settles the position of a channel source */
+    @Override
+    public void close() throws IOException {
+        if (in.channel != null) {
+            in.channel.release();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FilteredScan{" + type.getName() + ", " + accepted + "/" + scanned + "}";
+    }
+}
@@ -0,0 +1,604 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+import vavi.util.serdes.DefaultBeanBinder.DefaultOutputSource;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * FixedLayout. a class whose fields are at fixed offsets, bound at once instead of field by field.
+ * <p>
+ * a class is a fixed layout when all entries are bound by {@link DefaultBinder} without
+ * {@link Element#condition()}, {@link Element#validation()} and {@link Bound}, and each entry is
+ * <li>a primitive or a boxed one, {@link Element#value()} is a type keyword for an int or a long</li>
+ * <li>an array of a primitive type, the length is a number by {@link Element#value()}</li>
+ * <li>a {@link String}, the byte length is a number by {@link Element#value()}</li>
+ * and each {@link Skip} is a number. whole the bytes are read at once, from the source buffer directly
+ * for {@link ByteBufferDataInput}s, otherwise into a buffer per thread. a bean larger than {@link #MAX_BUFFER}
+ * is read slot by slot, and a large array is read into the array directly. fields are got from and set to
+ * the offsets by {@link VarHandle}s. scripts are not evaluated, so {@code $#} of the bean are not bound.
+ * a string is padded by zeros when serializing, and a longer one is an error. the same as the field by field way,
+ * the first elements of a longer array are written, and a shorter one is an error.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class FixedLayout {
+
+    private static final Logger logger = getLogger(FixedLayout.class.getName());
+
+    private static final VarHandle BE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_CHAR = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_FLOAT = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle BE_DOUBLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LE_SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_CHAR = MethodHandles.byteBufferViewVarHandle(char[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_FLOAT = MethodHandles.byteBufferViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LE_DOUBLE = MethodHandles.byteBufferViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+    /** a buffer per thread for sources not buffers */
+    private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(256));
+
+    /** max bytes of the buffer per thread, a larger bean is bound slot by slot */
+    static final int MAX_BUFFER = 64 * 1024;
+
+    /** kinds of a field */
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, ARRAY, STRING
+    }
+
+    /** an entry at an offset */
+    private static final class Slot {
+        final Schema.Entry entry;
+        final Kind kind;
+        /** offset from the bean start */
+        final int offset;
+        /** byte length */
+        final int size;
+        /** number type for {@link Kind#INT} and {@link Kind#LONG} */
+        final Schema.Type type;
+        /** array length for {@link Kind#ARRAY} */
+        final int length;
+        /** the field */
+        final VarHandle handle;
+
+        Slot(Schema.Entry entry, Kind kind, int offset, int size, Schema.Type type, int length, VarHandle handle) {
+            this.entry = entry;
+            this.kind = kind;
+            this.offset = offset;
+            this.size = size;
+            this.type = type;
+            this.length = length;
+            this.handle = handle;
+        }
+
+        /** reads the field from the buffer */
+        void get(ByteBuffer buffer, int base, boolean sourceBigEndian, Object bean) {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            int i = base + offset;
+            switch (kind) {
+            case BOOLEAN -> handle.set(bean, buffer.get(i) != 0);
+            case BYTE -> handle.set(bean, buffer.get(i));
+            case SHORT -> handle.set(bean, (short) (be ? BE_SHORT : LE_SHORT).get(buffer, i));
+            case CHAR -> handle.set(bean, (char) (be ? BE_CHAR : LE_CHAR).get(buffer, i));
+            case INT -> {
+                int value = switch (type) {
+                    case BYTE -> buffer.get(i);
+                    case UNSIGNED_BYTE -> buffer.get(i) & 0xff;
+                    case UNSIGNED_SHORT -> (short) (be ? BE_SHORT : LE_SHORT).get(buffer, i) & 0xffff;
+                    default -> (int) (be ? BE_INT : LE_INT).get(buffer, i);
+                };
+                handle.set(bean, value);
+            }
+            case LONG -> {
+                long value = type == Schema.Type.UNSIGNED_INT ?
+                        (int) (be ? BE_INT : LE_INT).get(buffer, i) & 0xffff_ffffL :
+                        (long) (be ? BE_LONG : LE_LONG).get(buffer, i);
+                handle.set(bean, value);
+            }
+            case FLOAT -> handle.set(bean, (float) (be ? BE_FLOAT : LE_FLOAT).get(buffer, i));
+            case DOUBLE -> handle.set(bean, (double) (be ? BE_DOUBLE : LE_DOUBLE).get(buffer, i));
+            case ARRAY -> {
+                Object array = handle.get(bean);
+                if (array == null || Array.getLength(array) != length) {
+                    array = Array.newInstance(entry.field.getType().getComponentType(), length);
+                }
+                PrimitiveArrays.get(buffer.slice(i, size).order(be ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN), array, 0, length);
+                handle.set(bean, array);
+            }
+            case STRING -> {
+                byte[] bytes = new byte[size];
+                buffer.get(i, bytes);
+                handle.set(bean, entry.charset != null ? new String(bytes, entry.charset) : new String(bytes));
+            }
+            }
+        }
+
+        /** reads the array directly from the input, the array of the bean is reused if the length is the same */
+        void read(DataInput in, boolean sourceBigEndian, Object bean) throws IOException {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            handle.set(bean, PrimitiveArrays.read(in, entry.field.getType().getComponentType(), handle.get(bean), length, be));
+        }
+
+        /** writes the array directly to the output */
+        void write(DataOutput out, boolean sourceBigEndian, Object bean) throws IOException {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            PrimitiveArrays.write(out, entry.field.getType().getComponentType(), handle.get(bean), length, be);
+        }
+
+        /** @return the field value in the buffer, an array or a string is a new one */
+        Object value(ByteBuffer buffer, int base, boolean sourceBigEndian) {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            int i = base + offset;
+            return switch (kind) {
+                case BOOLEAN -> buffer.get(i) != 0;
+                case BYTE -> buffer.get(i);
+                case SHORT -> (short) (be ? BE_SHORT : LE_SHORT).get(buffer, i);
+                case CHAR -> (char) (be ? BE_CHAR : LE_CHAR).get(buffer, i);
+                case INT -> switch (type) {
+                    case BYTE -> (int) buffer.get(i);
+                    case UNSIGNED_BYTE -> buffer.get(i) & 0xff;
+                    case UNSIGNED_SHORT -> (short) (be ? BE_SHORT : LE_SHORT).get(buffer, i) & 0xffff;
+                    default -> (int) (be ? BE_INT : LE_INT).get(buffer, i);
+                };
+                case LONG -> type == Schema.Type.UNSIGNED_INT ?
+                        (int) (be ? BE_INT : LE_INT).get(buffer, i) & 0xffff_ffffL :
+                        (long) (be ? BE_LONG : LE_LONG).get(buffer, i);
+                case FLOAT -> (float) (be ? BE_FLOAT : LE_FLOAT).get(buffer, i);
+                case DOUBLE -> (double) (be ? BE_DOUBLE : LE_DOUBLE).get(buffer, i);
+                case ARRAY -> {
+                    Object array = Array.newInstance(entry.field.getType().getComponentType(), length);
+                    PrimitiveArrays.get(buffer.slice(i, size).order(be ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN), array, 0, length);
+                    yield array;
+                }
+                case STRING -> {
+                    byte[] bytes = new byte[size];
+                    buffer.get(i, bytes);
+                    yield entry.charset != null ? new String(bytes, entry.charset) : new String(bytes);
+                }
+            };
+        }
+
+        /** reads the field of n records from the base by the stride, into the column from the index */
+        void fill(ByteBuffer buffer, int base, int stride, int n, boolean sourceBigEndian, Object column, int from) {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            ByteBuffer view = buffer.duplicate().order(be ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            int i = base + offset;
+            switch (kind) {
+            case BOOLEAN -> {
+                boolean[] c = (boolean[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.get(i) != 0;
+            }
+            case BYTE -> {
+                byte[] c = (byte[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.get(i);
+            }
+            case SHORT -> {
+                short[] c = (short[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.getShort(i);
+            }
+            case CHAR -> {
+                char[] c = (char[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.getChar(i);
+            }
+            case INT -> {
+                int[] c = (int[]) column;
+                switch (type) {
+                case BYTE -> { for (int j = from; j < from + n; j++, i += stride) c[j] = view.get(i); }
+                case UNSIGNED_BYTE -> { for (int j = from; j < from + n; j++, i += stride) c[j] = view.get(i) & 0xff; }
+                case UNSIGNED_SHORT -> { for (int j = from; j < from + n; j++, i += stride) c[j] = view.getShort(i) & 0xffff; }
+                default -> { for (int j = from; j < from + n; j++, i += stride) c[j] = view.getInt(i); }
+                }
+            }
+            case LONG -> {
+                long[] c = (long[]) column;
+                if (type == Schema.Type.UNSIGNED_INT) {
+                    for (int j = from; j < from + n; j++, i += stride) c[j] = view.getInt(i) & 0xffff_ffffL;
+                } else {
+                    for (int j = from; j < from + n; j++, i += stride) c[j] = view.getLong(i);
+                }
+            }
+            case FLOAT -> {
+                float[] c = (float[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.getFloat(i);
+            }
+            case DOUBLE -> {
+                double[] c = (double[]) column;
+                for (int j = from; j < from + n; j++, i += stride) c[j] = view.getDouble(i);
+            }
+            case ARRAY, STRING -> {
+                Object[] c = (Object[]) column;
+                for (int j = from; j < from + n; j++, base += stride) c[j] = value(buffer, base, sourceBigEndian);
+            }
+            }
+        }
+
+        /**
+         * writes the field into the buffer
+         * @throws IllegalArgumentException a string is longer than the size, or an array is shorter than the length
+         */
+        void put(ByteBuffer buffer, int base, boolean sourceBigEndian, Object bean) {
+            boolean be = entry.bigEndian != null ? entry.bigEndian : sourceBigEndian;
+            int i = base + offset;
+            switch (kind) {
+            case BOOLEAN -> buffer.put(i, (byte) ((boolean) handle.get(bean) ? 1 : 0));
+            case BYTE -> buffer.put(i, (byte) handle.get(bean));
+            case SHORT -> (be ? BE_SHORT : LE_SHORT).set(buffer, i, (short) handle.get(bean));
+            case CHAR -> (be ? BE_CHAR : LE_CHAR).set(buffer, i, (char) handle.get(bean));
+            case INT -> {
+                int value = (int) handle.get(bean);
+                switch (type) {
+                case BYTE, UNSIGNED_BYTE -> buffer.put(i, (byte) value);
+                case UNSIGNED_SHORT -> (be ? BE_SHORT : LE_SHORT).set(buffer, i, (short) value);
+                default -> (be ? BE_INT : LE_INT).set(buffer, i, value);
+                }
+            }
+            case LONG -> {
+                long value = (long) handle.get(bean);
+                if (type == Schema.Type.UNSIGNED_INT) {
+                    (be ? BE_INT : LE_INT).set(buffer, i, (int) value);
+                } else {
+                    (be ? BE_LONG : LE_LONG).set(buffer, i, value);
+                }
+            }
+            case FLOAT -> (be ? BE_FLOAT : LE_FLOAT).set(buffer, i, (float) handle.get(bean));
+            case DOUBLE -> (be ? BE_DOUBLE : LE_DOUBLE).set(buffer, i, (double) handle.get(bean));
+            case ARRAY -> {
+                Object array = handle.get(bean);
+                if (array == null) {
+                    zero(buffer, i, size);
+                } else {
+                    PrimitiveArrays.checkLength(array, length);
+                    PrimitiveArrays.put(buffer.slice(i, size).order(be ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN), array, 0, length);
+                }
+            }
+            case STRING -> {
+                String value = (String) handle.get(bean);
+                byte[] bytes = value == null ? new byte[0] : entry.charset != null ? value.getBytes(entry.charset) : value.getBytes();
+                if (bytes.length > size) {
+                    throw new IllegalArgumentException("value is longer than " + size + ": " + value + " at " + entry.field.getName());
+                }
+                buffer.put(i, bytes);
+                zero(buffer, i + bytes.length, size - bytes.length); // padding
+            }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return entry + "@" + offset;
+        }
+    }
+
+    /** total byte length */
+    final int size;
+
+    /** by offset, the same order as {@link Schema#entries} */
+    private final Slot[] slots;
+
+    /** offset and length pairs of {@link Skip}s */
+    private final int[] gaps;
+
+    private FixedLayout(int size, Slot[] slots, int[] gaps) {
+        this.size = size;
+        this.slots = slots;
+        this.gaps = gaps;
+    }
+
+    /** @return empty when the schema is not a fixed layout */
+    static Optional<FixedLayout> of(Schema schema) {
+        List<Slot> slots = new ArrayList<>();
+        List<Integer> gaps = new ArrayList<>();
+        long offset = 0;
+        int g = 0;
+        for (Schema.Entry entry : schema.entries) {
+            for (; g < schema.gaps.length && schema.gaps[g].sequence < entry.sequence; g++) {
+                offset = gap(schema.gaps[g], offset, gaps);
+                if (offset < 0) {
+                    return Optional.empty();
+                }
+            }
+            Slot slot = slot(entry, (int) offset);
+            if (slot == null) {
+logger.log(Level.DEBUG, "not fixed: " + schema.type.getName() + ", " + entry);
+                return Optional.empty();
+            }
+            slots.add(slot);
+            offset += slot.size;
+            if (offset > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+        }
+        for (; g < schema.gaps.length; g++) {
+            offset = gap(schema.gaps[g], offset, gaps);
+            if (offset < 0) {
+                return Optional.empty();
+            }
+        }
+logger.log(Level.DEBUG, "fixed: " + schema.type.getName() + ", " + offset + " bytes");
+        return Optional.of(new FixedLayout((int) offset, slots.toArray(Slot[]::new), gaps.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /** @return the offset after the gap, -1 when the gap is not a number */
+    private static long gap(Schema.Gap gap, long offset, List<Integer> gaps) {
+        if (gap.constant < 0) {
+            return -1;
+        }
+        long length = gap.constant;
+        if (gap.align > 0) {
+            length += DefaultBeanBinder.padding(offset + length, gap.align);
+        }
+        if (offset + length > Integer.MAX_VALUE) {
+            return -1;
+        }
+        gaps.add((int) offset);
+        gaps.add((int) length);
+        return offset + length;
+    }
+
+    /** @return null when the entry is not fixed */
+    private static Slot slot(Schema.Entry entry, int offset) {
+        Field field = entry.field;
+        if (entry.binder != null || !entry.condition.isEmpty() || !entry.validation.isEmpty() ||
+                Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        VarHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectVarHandle(field);
+        } catch (IllegalAccessException e) {
+logger.log(Level.DEBUG, e.getMessage());
+            return null;
+        }
+        Class<?> type = field.getType();
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            int length = constant(entry.value);
+            if (!PrimitiveArrays.isSupported(componentType) || length < 0) {
+                return null;
+            }
+            long size = (long) length * PrimitiveArrays.sizeOf(componentType);
+            return size > Integer.MAX_VALUE ? null : new Slot(entry, Kind.ARRAY, offset, (int) size, null, length, handle);
+        } else if (type == String.class) {
+            int length = constant(entry.value);
+            return length <= 0 ? null : new Slot(entry, Kind.STRING, offset, length, null, 0, handle);
+        }
+        Class<?> primitive = type.isPrimitive() ? type : PrimitiveList.unbox(type);
+        if (primitive == null) {
+            return null;
+        } else if (primitive == Integer.TYPE) {
+            Schema.Type t = entry.intType();
+            return new Slot(entry, Kind.INT, offset, t.size, t, 0, handle);
+        } else if (primitive == Long.TYPE) {
+            Schema.Type t = entry.longType();
+            return new Slot(entry, Kind.LONG, offset, t.size, t, 0, handle);
+        }
+        Kind kind;
+        if (primitive == Boolean.TYPE) {
+            kind = Kind.BOOLEAN;
+        } else if (primitive == Byte.TYPE) {
+            kind = Kind.BYTE;
+        } else if (primitive == Short.TYPE) {
+            kind = Kind.SHORT;
+        } else if (primitive == Character.TYPE) {
+            kind = Kind.CHAR;
+        } else if (primitive == Float.TYPE) {
+            kind = Kind.FLOAT;
+        } else {
+            kind = Kind.DOUBLE;
+        }
+        return new Slot(entry, kind, offset, PrimitiveArrays.sizeOf(primitive), null, 0, handle);
+    }
+
+    /** @return -1 when the value is not a number */
+    private static int constant(String value) {
+        try {
+            return value.isEmpty() ? -1 : Integer.decode(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** fills zeros */
+    private static void zero(ByteBuffer buffer, int index, int length) {
+        for (int i = 0; i < length; i++) {
+            buffer.put(index + i, (byte) 0);
+        }
+    }
+
+    /** @return a buffer of the thread at least size bytes, a new one not kept for a size over {@link #MAX_BUFFER} */
+    static ByteBuffer buffer(int size) {
+        if (size > MAX_BUFFER) {
+            return ByteBuffer.allocate(size);
+        }
+        ByteBuffer buffer = buffers.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.min(MAX_BUFFER, Math.max(size, buffer.capacity() * 2)));
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * reads the bean at once.
+     * @throws java.io.EOFException the source is short
+     */
+    void read(DefaultInputSource in, Object bean) throws IOException {
+        DataInput dis = in.defaultDis;
+        ByteBuffer buffer;
+        int base;
+        if (dis instanceof ByteBufferDataInput bin && size <= bin.maxAdvance()) {
+            // the source directly, a channel window is filled if needed
+            base = bin.advance(size);
+            buffer = bin.buffer;
+        } else if (size > MAX_BUFFER) {
+            readSlots(in, bean);
+            return;
+        } else {
+            buffer = buffer(size);
+            dis.readFully(buffer.array(), 0, size);
+            base = 0;
+        }
+        read(buffer, base, in.bigEndian, bean);
+    }
+
+    /** reads the bean slot by slot, a large array is read into the array directly */
+    private void readSlots(DefaultInputSource in, Object bean) throws IOException {
+        DataInput dis = in.defaultDis;
+        int position = 0;
+        for (Slot slot : slots) {
+            in.skip(slot.offset - position);
+            if (slot.kind == Kind.ARRAY && slot.size > MAX_BUFFER) {
+                slot.read(dis, in.bigEndian, bean);
+            } else {
+                ByteBuffer buffer = buffer(slot.size);
+                dis.readFully(buffer.array(), 0, slot.size);
+                slot.get(buffer, -slot.offset, in.bigEndian, bean);
+            }
+            position = slot.offset + slot.size;
+        }
+        in.skip(size - position);
+    }
+
+    /** max bytes of a read into columns from a source not a buffer */
+    private static final int CHUNK = 64 * 1024;
+
+    /** @return max number of records {@link #fill(DefaultInputSource, int, Object[], int)} reads at once */
+    int records(DefaultInputSource in) {
+        int max = in.defaultDis instanceof ByteBufferDataInput bin ? bin.maxAdvance() : CHUNK;
+        return Math.max(1, max / Math.max(1, size));
+    }
+
+    /**
+     * reads n records at once into columns.
+     * @see #fill(ByteBuffer, int, int, boolean, Object[], int)
+     */
+    void fill(DefaultInputSource in, int n, Object[] columns, int from) throws IOException {
+        int length = n * size;
+        DataInput dis = in.defaultDis;
+        ByteBuffer buffer;
+        int base;
+        if (dis instanceof ByteBufferDataInput bin && length <= bin.maxAdvance()) {
+            base = bin.advance(length);
+            buffer = bin.buffer;
+        } else {
+            buffer = buffer(length);
+            dis.readFully(buffer.array(), 0, length);
+            base = 0;
+        }
+        fill(buffer, base, n, in.bigEndian, columns, from);
+    }
+
+    /**
+     * reads the bean from the index of the buffer, the position of the buffer is not changed.
+     * @param bigEndian the byte order of entries without {@link Element#bigEndian()}
+     * @throws IndexOutOfBoundsException the buffer is short
+     */
+    void read(ByteBuffer buffer, int index, boolean bigEndian, Object bean) {
+        for (Slot slot : slots) {
+            slot.get(buffer, index, bigEndian, bean);
+        }
+    }
+
+    /**
+     * writes the bean at once, {@link Skip}s are zeros.
+     * @throws java.io.EOFException the destination buffer is short
+     */
+    void write(DefaultOutputSource out, Object bean) throws IOException {
+        DataOutput dos = out.defaultDos;
+        ByteBuffer buffer;
+        int base;
+        if (dos instanceof ByteBufferDataOutput bout) {
+            // the destination directly
+            base = bout.advance(size);
+            buffer = bout.buffer;
+        } else if (size > MAX_BUFFER) {
+            writeSlots(out, bean);
+            return;
+        } else {
+            buffer = buffer(size);
+            base = 0;
+        }
+        for (int i = 0; i < gaps.length; i += 2) {
+            zero(buffer, base + gaps[i], gaps[i + 1]);
+        }
+        for (Slot slot : slots) {
+            slot.put(buffer, base, out.bigEndian, bean);
+        }
+        if (!(dos instanceof ByteBufferDataOutput)) {
+            dos.write(buffer.array(), 0, size);
+        }
+    }
+
+    /** writes the bean slot by slot, a large array is written from the array directly */
+    private void writeSlots(DefaultOutputSource out, Object bean) throws IOException {
+        DataOutput dos = out.defaultDos;
+        int position = 0;
+        for (Slot slot : slots) {
+            PrimitiveArrays.writeZeros(dos, slot.offset - position);
+            if (slot.kind == Kind.ARRAY && slot.size > MAX_BUFFER) {
+                slot.write(dos, out.bigEndian, bean);
+            } else {
+                ByteBuffer buffer = buffer(slot.size);
+                slot.put(buffer, -slot.offset, out.bigEndian, bean);
+                dos.write(buffer.array(), 0, slot.size);
+            }
+            position = slot.offset + slot.size;
+        }
+        PrimitiveArrays.writeZeros(dos, size - position);
+    }
+
+    /**
+     * reads n records from the index of the buffer into columns.
+     * @param columns arrays by {@link Schema.Entry#index}, of primitives for primitive or boxed fields
+     * @param from index of columns for the first record
+     * @throws IndexOutOfBoundsException the buffer is short
+     */
+    void fill(ByteBuffer buffer, int index, int n, boolean bigEndian, Object[] columns, int from) {
+        for (Slot slot : slots) {
+            slot.fill(buffer, index, size, n, bigEndian, columns[slot.entry.index], from);
+        }
+    }
+
+    /**
+     * @return the value of the entry of the bean from the index of the buffer
+     * @throws IndexOutOfBoundsException the buffer is short
+     */
+    Object value(Schema.Entry entry, ByteBuffer buffer, int index, boolean bigEndian) {
+        return slots[entry.index].value(buffer, index, bigEndian);
+    }
+
+    @Override
+    public String toString() {
+        return "FixedLayout{" + size + ", " + Arrays.toString(slots) + "}";
+    }
+}
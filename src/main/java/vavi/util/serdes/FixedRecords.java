@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * FixedRecords. random access to consecutive records of a fixed size class.
+ * <p>
+ * the record N is read from {@code offset + N * size} without reading records before it.
+ * a class is a fixed size when {@link Serdes.Util#sizeOf(Class)} is present.
+ * a {@link SeekableByteChannel} is read by positional reads, the channel position is not changed.
+ * a {@link Path} is memory mapped, a {@link ByteBuffer} is read from its position, and a byte[] from 0.
+ * not thread safe.
+ * </p>
+ * <pre>
+ * FixedRecords&lt;Entry&gt; records = FixedRecords.of(channel, 512, Entry.class); // after a 512 bytes header
+ * Entry entry = records.get(1_000_000);
+ * List&lt;Entry&gt; entries = records.range(100, 200);
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class FixedRecords<T> {
+
+    /** max bytes of a read for {@link #range(long, long)} */
+    private static final int CHUNK = 8 * 1024 * 1024;
+
+    /** record class */
+    private final Class<T> type;
+
+    /** */
+    private final Schema schema;
+
+    /** */
+    private final FixedLayout layout;
+
+    /** {@link Serdes#bigEndian()} */
+    private final boolean bigEndian;
+
+    /** position of the record 0 */
+    private final long offset;
+
+    /** nullable */
+    private final ByteBuffer buffer;
+
+    /** nullable */
+    private final MappedDataInput.Mapping mapping;
+
+    /** nullable */
+    private final SeekableByteChannel channel;
+
+    /** read buffer for a channel, lazily grown */
+    private ByteBuffer chunk;
+
+    private FixedRecords(Class<T> type, long offset, ByteBuffer buffer, MappedDataInput.Mapping mapping, SeekableByteChannel channel) {
+        this.schema = Schema.of(type);
+        if (Serdes.Util.sizeOf(type).orElse(0) == 0) {
+            throw new IllegalArgumentException("not a fixed size: " + type.getName());
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset: " + offset);
+        }
+        this.type = type;
+        this.layout = schema.fixedLayout();
+        this.bigEndian = schema.bigEndian;
+        this.offset = offset;
+        this.buffer = buffer;
+        this.mapping = mapping;
+        this.channel = channel;
+        if (mapping != null && layout.size > MappedDataInput.OVERLAP) {
+            throw new UnsupportedOperationException("too large for a mapping: " + layout.size);
+        }
+    }
+
+    /** records from the beginning of the source */
+    public static <T> FixedRecords<T> of(Object source, Class<T> type) throws IOException {
+        return of(source, 0, type);
+    }
+
+    /**
+     * @param source accepts {@link SeekableByteChannel}, {@link Path}, {@link ByteBuffer} and byte[]
+     * @param offset position of the record 0
+     * @throws IllegalArgumentException the type is not a fixed size, or the source is not supported
+     */
+    public static <T> FixedRecords<T> of(Object source, long offset, Class<T> type) throws IOException {
+        if (source instanceof SeekableByteChannel channel) {
+            return new FixedRecords<>(type, offset, null, null, channel);
+        } else if (source instanceof Path path) {
+            return new FixedRecords<>(type, offset, null, MappedDataInput.map(path), null);
+        } else if (source instanceof ByteBuffer buffer) {
+            return new FixedRecords<>(type, offset, buffer.slice(), null, null);
+        } else if (source instanceof byte[] bytes) {
+            return new FixedRecords<>(type, offset, ByteBuffer.wrap(bytes), null, null);
+        }
+        throw new IllegalArgumentException("unsupported source: " + source.getClass().getName());
+    }
+
+    /** @return byte length of a record */
+    public int recordSize() {
+        return layout.size;
+    }
+
+    /** @return number of whole records */
+    public long size() throws IOException {
+        long length = buffer != null ? buffer.capacity() : mapping != null ? mapping.size : channel.size();
+        return Math.max(0, length - offset) / layout.size;
+    }
+
+    /**
+     * @return a new bean of the record
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public T get(long index) throws IOException {
+        return get(index, schema.newInstance());
+    }
+
+    /**
+     * @return the bean
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public T get(long index, T bean) throws IOException {
+        Objects.checkIndex(index, size());
+        long position = offset + index * layout.size;
+        if (buffer != null) {
+            layout.read(buffer, (int) position, bigEndian, bean);
+        } else if (mapping != null) {
+            layout.read(mapping.slice(position, layout.size), 0, bigEndian, bean);
+        } else {
+            ByteBuffer chunk = chunk(layout.size);
+            read(chunk, position);
+            layout.read(chunk, 0, bigEndian, bean);
+        }
+        return bean;
+    }
+
+    /**
+     * records from a channel are read by chunks of records, not a record by a record.
+     * @return new beans of records [from, to)
+     * @throws IndexOutOfBoundsException from or to is out of {@link #size()}
+     */
+    public List<T> range(long from, long to) throws IOException {
+        Objects.checkFromToIndex(from, to, size());
+        List<T> beans = new ArrayList<>((int) Math.min(to - from, Integer.MAX_VALUE));
+        if (channel == null) {
+            for (long i = from; i < to; i++) {
+                beans.add(get(i));
+            }
+            return beans;
+        }
+        int records = Math.max(1, CHUNK / layout.size);
+        for (long i = from; i < to; ) {
+            int n = (int) Math.min(records, to - i);
+            ByteBuffer chunk = chunk(n * layout.size);
+            read(chunk, offset + i * layout.size);
+            for (int j = 0; j < n; j++, i++) {
+                T bean = schema.newInstance();
+                layout.read(chunk, j * layout.size, bigEndian, bean);
+                beans.add(bean);
+            }
+        }
+        return beans;
+    }
+
+    /** @return the chunk buffer, the limit is length */
+    private ByteBuffer chunk(int length) {
+        if (chunk == null || chunk.capacity() < length) {
+            chunk = ByteBuffer.allocateDirect(Math.max(length, layout.size));
+        }
+        return chunk.clear().limit(length);
+    }
+
+    /**
+     * fills dst from the position of the channel, the channel position is not changed
+     * @throws EOFException the channel is short
+     */
+    private void read(ByteBuffer dst, long position) throws IOException {
+        long saved = channel instanceof FileChannel ? -1 : channel.position();
+        try {
+            if (saved >= 0) {
+                channel.position(position);
+            }
+            while (dst.hasRemaining()) {
+                int n = channel instanceof FileChannel fc ? fc.read(dst, position + dst.position()) : channel.read(dst);
+                if (n < 0) {
+                    throw new EOFException("position: " + position + ", read: " + dst.position() + ", required: " + dst.limit());
+                }
+            }
+        } finally {
+            if (saved >= 0) {
+                channel.position(saved);
+            }
+        }
+        dst.flip();
+    }
+
+    @Override
+    public String toString() {
+        return "FixedRecords{" + type.getName() + ", " + layout.size + " bytes from " + offset + "}";
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import vavi.beans.BeanUtil;
+
+
+/**
+ * Flyweight. a view of a record in a buffer, getters of an interface read fields lazily.
+ * <p>
+ * a getter is mapped to an entry of the {@link Serdes} class by {@link Element#sequence()} of the getter,
+ * otherwise by the property name like {@code getId()}, {@code isValid()} or {@code id()}.
+ * for a fixed layout class, a getter reads the field at the offset of the record directly,
+ * and moving to another record is only a cursor move. for a variable layout class, the record is
+ * deserialized with a projection of the getters at the first getter call after a move, offsets are
+ * discovered sequentially. the byte order follows {@link Serdes#bigEndian()} and {@link Element#bigEndian()}.
+ * </p>
+ * <p>
+ * a {@link Path} is memory mapped, a variable record must not be longer than {@link MappedDataInput#OVERLAP}
+ * across a 1GiB boundary of the file. a {@link ByteBuffer} is read from its position. not thread safe.
+ * </p>
+ * <pre>
+ * interface Header { int getId(); &#64;Element(sequence = 5) long size(); }
+ *
+ * Flyweight&lt;Header&gt; flyweight = Flyweight.of(Header.class, Box.class, path);
+ * Header header = flyweight.view();
+ * for (boolean b = flyweight.hasRecord(); b; b = flyweight.next()) {
+ *     sum += header.size();
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class Flyweight<V> {
+
+    /** {@link Serdes} class */
+    private final Class<?> type;
+
+    /** */
+    private final Schema schema;
+
+    /** null when the layout is variable */
+    private final FixedLayout layout;
+
+    /** entries by getter */
+    private final Map<Method, Schema.Entry> getters = new HashMap<>();
+
+    /** field names of getters for a projection */
+    private final Set<String> fields = new HashSet<>();
+
+    /** nullable, a buffer source */
+    private final ByteBuffer buffer;
+
+    /** nullable, a mapped source */
+    private final MappedDataInput.Mapping mapping;
+
+    /** byte length of the source */
+    private final long limit;
+
+    /** the view */
+    private final V view;
+
+    /** position of the current record from the source start */
+    private long position;
+
+    /** the buffer has the current record */
+    private ByteBuffer segment;
+
+    /** index of the current record in {@link #segment} */
+    private int base;
+
+    /** the bean a variable record is deserialized into, reused for all records, lazily created */
+    private Object bean;
+
+    /** byte length of the current record for a variable layout, -1 before deserialized */
+    private long length = -1;
+
+    /** */
+    private Flyweight(Class<V> viewClass, Class<?> type, ByteBuffer buffer, MappedDataInput.Mapping mapping) {
+        if (!viewClass.isInterface()) {
+            throw new IllegalArgumentException("not an interface: " + viewClass.getName());
+        }
+        this.type = type;
+        this.schema = Schema.of(type);
+        this.layout = schema.annotation().beanBinder() == DefaultBeanBinder.class ? schema.fixedLayout() : null;
+        this.buffer = buffer;
+        this.mapping = mapping;
+        this.limit = buffer != null ? buffer.limit() : mapping.size;
+        if (mapping != null && layout != null && layout.size > MappedDataInput.OVERLAP) {
+            throw new UnsupportedOperationException("too large for a mapping: " + layout.size);
+        }
+        for (Method method : viewClass.getMethods()) {
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Schema.Entry entry = entryOf(method);
+            getters.put(method, entry);
+            fields.add(entry.field.getName());
+        }
+        this.view = viewClass.cast(Proxy.newProxyInstance(viewClass.getClassLoader(), new Class<?>[] {viewClass}, handler));
+        locate();
+    }
+
+    /**
+     * @param source accepts {@link ByteBuffer}, byte[] and {@link Path}
+     * @throws IllegalArgumentException the view is not an interface, a getter is not mapped to an entry,
+     *         or the source is not supported
+     */
+    public static <V> Flyweight<V> of(Class<V> view, Class<?> type, Object source) throws IOException {
+        if (source instanceof ByteBuffer buffer) {
+            return new Flyweight<>(view, type, buffer.slice(), null);
+        } else if (source instanceof byte[] bytes) {
+            return new Flyweight<>(view, type, ByteBuffer.wrap(bytes), null);
+        } else if (source instanceof Path path) {
+            return new Flyweight<>(view, type, null, MappedDataInput.map(path));
+        }
+        throw new IllegalArgumentException("unsupported source: " + source.getClass().getName());
+    }
+
+    /** @throws IllegalArgumentException the method is not a getter of an entry */
+    private Schema.Entry entryOf(Method method) {
+        if (method.getParameterCount() != 0 || method.getReturnType() == Void.TYPE) {
+            throw new IllegalArgumentException("not a getter: " + method);
+        }
+        Element element = method.getAnnotation(Element.class);
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            name = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            name = Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        String property = name;
+        Schema.Entry entry = Arrays.stream(schema.entries)
+                .filter(e -> element != null ? e.sequence == element.sequence() : e.field.getName().equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("no entry for: " + method + " in " + type.getName()));
+        Class<?> returnType = MethodType.methodType(method.getReturnType()).wrap().returnType();
+        if (!returnType.isAssignableFrom(MethodType.methodType(entry.field.getType()).wrap().returnType())) {
+            throw new IllegalArgumentException("type mismatch: " + method + ", " + entry.field);
+        }
+        return entry;
+    }
+
+    /** getters read the current record, an {@link IOException} is thrown as an {@link UncheckedIOException} */
+    private final InvocationHandler handler = (proxy, method, args) -> {
+        Schema.Entry entry = getters.get(method);
+        if (entry != null) {
+            try {
+                return get(entry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> Flyweight.this.toString();
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    };
+
+    /** @return the value of the entry of the current record */
+    private Object get(Schema.Entry entry) throws IOException {
+        if (!hasRecord()) {
+            throw new IllegalStateException("no record at: " + position);
+        }
+        if (layout != null) {
+            return layout.value(entry, segment, base, schema.bigEndian);
+        }
+        return BeanUtil.getFieldValue(entry.field, deserialize());
+    }
+
+    /** @return the current record deserialized with a projection */
+    private Object deserialize() throws IOException {
+        if (length < 0) {
+            if (bean == null) {
+                bean = schema.newInstance();
+            }
+            ByteBuffer record = segment.slice(base, segment.limit() - base);
+            Serdes.Util.deserialize(record, bean, fields);
+            length = record.position();
+        }
+        return bean;
+    }
+
+    /** sets {@link #segment} and {@link #base} for {@link #position} */
+    private void locate() {
+        if (mapping != null) {
+            int i = mapping.segmentOf(position);
+            segment = mapping.segments[i];
+            base = (int) (position - i * MappedDataInput.STRIDE);
+        } else {
+            segment = buffer;
+            base = (int) position;
+        }
+        length = -1;
+    }
+
+    /** @return the view of the current record, the same instance for all records */
+    public V view() {
+        return view;
+    }
+
+    /** @return position of the current record from the source start */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * moves to the record at the position.
+     * @throws IllegalArgumentException position is out of the source
+     */
+    public Flyweight<V> position(long position) {
+        if (position < 0 || position > limit) {
+            throw new IllegalArgumentException("position: " + position + ", limit: " + limit);
+        }
+        this.position = position;
+        locate();
+        return this;
+    }
+
+    /** @return true when the current position has a record, a whole one for a fixed layout */
+    public boolean hasRecord() {
+        return position + (layout != null ? layout.size : 1) <= limit;
+    }
+
+    /**
+     * a variable record is deserialized for its length.
+     * @return byte length of the current record
+     * @throws IllegalStateException no record at the position
+     */
+    public long length() throws IOException {
+        if (!hasRecord()) {
+            throw new IllegalStateException("no record at: " + position);
+        }
+        if (layout != null) {
+            return layout.size;
+        }
+        deserialize();
+        return length;
+    }
+
+    /**
+     * moves to the next record.
+     * @return true when the next position has a record
+     */
+    public boolean next() throws IOException {
+        position(position + length());
+        return hasRecord();
+    }
+
+    @Override
+    public String toString() {
+        return "Flyweight{" + type.getName() + "@" + position + (layout != null ? ", fixed" : ", variable") + "}";
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+
+
+/**
+ * LazyList. an unmodifiable list of nested {@link Serdes} beans decoded on demand from a {@link Region}.
+ * <p>
+ * a field of this type is bound to a region of the source without decoding elements,
+ * the element class is the type argument.
+ * <li>for a fixed size element class (see {@link Serdes.Util#sizeOf(Class)}), {@link Element#value()} is
+ * the number of elements. the region is skipped at once, the list is random access and
+ * its spliterator splits for parallel streams.</li>
+ * <li>for others, {@link Element#value()} is the byte length of elements. elements are decoded
+ * sequentially, offsets found are remembered for {@link #get(int)}. {@link #size()} decodes all
+ * elements once. the spliterator does not split.</li>
+ * the same as {@link Region}, a channel source must be open while the list is used, and bytes of
+ * an {@link java.io.InputStream} source are copied. the bytes of elements are up to 2GiB.
+ * elements are decoded in the byte order of the parent, {@code $__} of an element is null.
+ * a new bean is returned at each access. serializing the list writes the region as it is.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public abstract sealed class LazyList<T> extends AbstractList<T> permits LazyList.Fixed, LazyList.Variable {
+
+    /** bytes of elements */
+    protected final Region region;
+
+    /** element class */
+    protected final Class<T> type;
+
+    /** */
+    private final Schema schema;
+
+    /** for the variable one */
+    private final DefaultBeanBinder beanBinder;
+
+    /** byte order of elements */
+    protected final boolean bigEndian;
+
+    /** lazily got */
+    private volatile ByteBuffer bytes;
+
+    private LazyList(Region region, Class<T> type, DefaultBeanBinder beanBinder, boolean bigEndian) {
+        this.region = region;
+        this.type = type;
+        this.beanBinder = beanBinder;
+        this.bigEndian = bigEndian;
+        this.schema = Schema.of(type);
+    }
+
+    /**
+     * binds elements from the input without decoding those.
+     * @param count number of elements for a fixed layout, otherwise byte length of elements
+     */
+    static <T> LazyList<T> read(DefaultBeanBinder beanBinder, DefaultInputSource in, Class<T> type, long count) throws IOException {
+        FixedLayout layout = fixedLayout(beanBinder, type);
+        if (layout != null) {
+            return new Fixed<>(Region.read(in.defaultDis, count * layout.size), type, layout, (int) count, beanBinder, in.bigEndian);
+        } else {
+            return new Variable<>(Region.read(in.defaultDis, count), type, beanBinder, in.bigEndian);
+        }
+    }
+
+    /** @return null when elements are not a fixed layout */
+    static FixedLayout fixedLayout(DefaultBeanBinder beanBinder, Class<?> type) {
+        Schema schema = Schema.of(type);
+        schema.annotation();
+        return beanBinder.getDefaultBinder().getClass() == DefaultBinder.class ? schema.fixedLayout() : null;
+    }
+
+    /** @return bytes of elements */
+    public Region region() {
+        return region;
+    }
+
+    /** @return element class */
+    public Class<T> type() {
+        return type;
+    }
+
+    /** @return the region as a buffer, got once */
+    protected ByteBuffer bytes() {
+        ByteBuffer bytes = this.bytes;
+        if (bytes == null) {
+            synchronized (this) {
+                bytes = this.bytes;
+                if (bytes == null) {
+                    try {
+                        bytes = region.asByteBuffer();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    this.bytes = bytes;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** @throws IllegalStateException the type cannot be instantiated */
+    protected T newBean() {
+        return schema.newInstance();
+    }
+
+    /** @return a source of elements from the offset of the region */
+    protected DefaultInputSource source(int offset) {
+        try {
+            return (DefaultInputSource) beanBinder.getIOSource(bytes().duplicate().position(offset), bigEndian);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** decodes an element at the current position of the source */
+    protected T decode(DefaultInputSource in) {
+        T bean = newBean();
+        try {
+            beanBinder.deserialize0(in, bean, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bean;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "List{" + type.getName() + ", " + region + "}";
+    }
+
+    /** elements of a fixed layout */
+    static final class Fixed<T> extends LazyList<T> implements RandomAccess {
+
+        /** */
+        private final FixedLayout layout;
+
+        /** */
+        private final int size;
+
+        private Fixed(Region region, Class<T> type, FixedLayout layout, int size, DefaultBeanBinder beanBinder, boolean bigEndian) {
+            super(region, type, beanBinder, bigEndian);
+            this.layout = layout;
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            T bean = newBean();
+            layout.read(bytes(), index * layout.size, bigEndian, bean);
+            return bean;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /** elements of a variable layout */
+    static final class Variable<T> extends LazyList<T> {
+
+        /** start offsets of elements found, the last one may be the end */
+        private int[] offsets = {0};
+
+        /** number of offsets found */
+        private int found = 1;
+
+        /** -1 while unknown */
+        private volatile int size = -1;
+
+        private Variable(Region region, Class<T> type, DefaultBeanBinder beanBinder, boolean bigEndian) {
+            super(region, type, beanBinder, bigEndian);
+        }
+
+        /** remembers the start of the element n */
+        private synchronized void found(int n, int offset, boolean end) {
+            if (n == found) {
+                if (found == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, found * 2);
+                }
+                offsets[found++] = offset;
+            }
+            if (end) {
+                size = n;
+            }
+        }
+
+        /** @return the element, null when the list ends before it */
+        private T walk(int index) {
+            int n;
+            int offset;
+            synchronized (this) {
+                n = Math.min(index, found - 1);
+                offset = offsets[n];
+            }
+            DefaultInputSource in = source(offset);
+            try {
+                for (; ; n++) {
+                    if (in.atEnd()) {
+                        found(n, (int) in.position(), true);
+                        return null;
+                    }
+                    T bean = decode(in);
+                    found(n + 1, (int) in.position(), false);
+                    if (n == index) {
+                        return bean;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || (size >= 0 && index >= size)) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            }
+            T bean = walk(index);
+            if (bean == null) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            }
+            return bean;
+        }
+
+        @Override
+        public int size() {
+            if (size < 0) {
+                walk(Integer.MAX_VALUE);
+            }
+            return size;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            DefaultInputSource in = source(0);
+            return new Iterator<>() {
+                int n;
+
+                @Override public boolean hasNext() {
+                    try {
+                        boolean end = in.atEnd();
+                        if (end) {
+                            found(n, (int) in.position(), true);
+                        }
+                        return !end;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    T bean = decode(in);
+                    found(++n, (int) in.position(), false);
+                    return bean;
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import vavi.io.LittleEndianDataInput;
+
+
+/**
+ * MappedDataInput. a {@link java.io.DataInput} reads a memory mapped file.
+ * <p>
+ * a file is mapped as {@link MappedByteBuffer} segments of {@link #STRIDE} bytes, and each segment
+ * overlaps the next one by {@link #OVERLAP} bytes, so a primitive or a short array is read from a segment
+ * without copying even when it lies across a stride boundary. positions are long.
+ * instances of both byte orders share a {@link Mapping}, so those share the position.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+class MappedDataInput extends ByteBufferDataInput {
+
+    /** distance between segment starts */
+    static final long STRIDE = 1L << 30;
+
+    /** bytes a segment overlaps the next one */
+    static final int OVERLAP = 1 << 20;
+
+    /** segments of a file */
+    static final class Mapping {
+        /** the mapped file */
+        final Path path;
+        /** file size */
+        final long size;
+        /** segment i starts at i * {@link #STRIDE} */
+        final MappedByteBuffer[] segments;
+        /** index of the segment which has the position */
+        int current;
+
+        private Mapping(Path path, long size, MappedByteBuffer[] segments) {
+            this.path = path;
+            this.size = size;
+            this.segments = segments;
+        }
+
+        /** @return logical position */
+        long position() {
+            return current * STRIDE + segments[current].position();
+        }
+
+        /**
+         * moves the logical position, the segment is changed to the one the position is the nearest to the start.
+         * @throws IllegalArgumentException position is out of the file
+         */
+        void position(long position) {
+            if (position < 0 || position > size) {
+                throw new IllegalArgumentException("position: " + position + ", size: " + size);
+            }
+            current = segmentOf(position);
+            segments[current].position((int) (position - current * STRIDE));
+        }
+
+        /** @return index of the segment which has the position the nearest to the start */
+        int segmentOf(long position) {
+            return (int) Math.min(position / STRIDE, segments.length - 1);
+        }
+
+        /**
+         * @return a view from the position, up to length bytes in a segment.
+         *         at least {@link #OVERLAP} bytes unless the end of the file.
+         */
+        ByteBuffer slice(long position, int length) {
+            int i = segmentOf(position);
+            int index = (int) (position - i * STRIDE);
+            return segments[i].slice(index, Math.min(length, segments[i].capacity() - index));
+        }
+    }
+
+    /**
+     * maps whole the file, the file is closed after mapping.
+     * @throws IOException when the file cannot be mapped
+     */
+    static Mapping map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) Math.max(1, (size + STRIDE - 1) / STRIDE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = i * STRIDE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(STRIDE + OVERLAP, size - start));
+            }
+            return new Mapping(path, size, segments);
+        }
+    }
+
+    /** little endian one */
+    static final class LittleEndian extends MappedDataInput implements LittleEndianDataInput {
+        LittleEndian(Mapping mapping) {
+            super(mapping, false);
+        }
+    }
+
+    /** shared by both byte orders */
+    final Mapping mapping;
+
+    /** big endian one */
+    MappedDataInput(Mapping mapping) {
+        this(mapping, true);
+    }
+
+    private MappedDataInput(Mapping mapping, boolean bigEndian) {
+        super(mapping.segments[mapping.current], bigEndian);
+        this.mapping = mapping;
+    }
+
+    /** @return logical position */
+    long position() {
+        return mapping.position();
+    }
+
+    /**
+     * moves the logical position.
+     * @throws IllegalArgumentException position is out of the file
+     */
+    void position(long position) {
+        mapping.position(position);
+    }
+
+    /** @return bytes from the position to the end of the file */
+    long remaining() {
+        return mapping.size - mapping.position();
+    }
+
+    /** changes {@link #buffer} to the segment which has length bytes from the position */
+    @Override
+    int advance(int length) throws IOException {
+        buffer = mapping.segments[mapping.current];
+        if (buffer.remaining() < length && length <= OVERLAP) {
+            mapping.position(mapping.position());
+            buffer = mapping.segments[mapping.current];
+        }
+        return super.advance(length);
+    }
+
+    @Override
+    int maxAdvance() {
+        return OVERLAP;
+    }
+
+    /** a large one is read by the overlap size */
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        if (remaining() < len) {
+            throw new EOFException("remaining: " + remaining() + ", required: " + len);
+        }
+        for (; len > OVERLAP; off += OVERLAP, len -= OVERLAP) {
+            super.readFully(b, off, OVERLAP);
+        }
+        super.readFully(b, off, len);
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int skip = (int) Math.max(0, Math.min(n, remaining()));
+        mapping.position(mapping.position() + skip);
+        return skip;
+    }
+}
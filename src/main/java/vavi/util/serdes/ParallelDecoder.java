@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * ParallelDecoder. decodes consecutive records of a source on cores.
+ * <p>
+ * at first, boundaries of records are found. for a fixed size class (see {@link Serdes.Util#sizeOf(Class)})
+ * those are computed, otherwise a record is scanned with an empty projection, i.e. only fields
+ * lengths depend on are decoded and others are skipped (see {@link Serdes.Util#deserialize(Object, Object, Set)}).
+ * then records are grouped into chunks, and chunks are decoded fully in parallel by a bean binder
+ * a chunk over a slice of the source.
+ * </p>
+ * <p>
+ * accepts byte[], {@link ByteBuffer} from its position, {@link Path} (mapped) and {@link FileChannel}
+ * from its position. a channel is read by positional reads, the channel position is not changed.
+ * {@code $0} of a record is bytes from the record to the end of its chunk.
+ * a record of a mapped file must not be longer than {@link MappedDataInput#OVERLAP}.
+ * </p>
+ * <pre>
+ * List&lt;Box&gt; boxes = ParallelDecoder.of(path, Box.class).decode();
+ * ParallelDecoder.of(path, Box.class).stream(false).forEach(...); // unordered
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class ParallelDecoder<T> {
+
+    private static final Logger logger = getLogger(ParallelDecoder.class.getName());
+
+    /** max bytes of a chunk */
+    private static final int CHUNK = 1024 * 1024;
+
+    /** min bytes of a chunk */
+    private static final int MIN_CHUNK = 4 * 1024;
+
+    /** record class */
+    private final Class<T> type;
+
+    /** */
+    private final Schema schema;
+
+    /** nullable, index 0 is the first record */
+    private final ByteBuffer buffer;
+
+    /** nullable */
+    private final MappedDataInput.Mapping mapping;
+
+    /** nullable */
+    private final FileChannel channel;
+
+    /** position of the first record in the channel */
+    private final long start;
+
+    /** offsets of records from the first record, and the end */
+    private final long[] offsets;
+
+    /** record index of chunk starts, and the number of records, for {@link #parallelism} */
+    private int[] chunks;
+
+    /** parallelism {@link #chunks} are made for */
+    private int parallelism;
+
+    private ParallelDecoder(Class<T> type, ByteBuffer buffer, MappedDataInput.Mapping mapping, FileChannel channel) throws IOException {
+        this.type = type;
+        this.schema = Schema.of(type);
+        if (!(schema.newBeanBinder() instanceof DefaultBeanBinder)) {
+            throw new IllegalArgumentException("not a default bean binder: " + type.getName());
+        }
+        this.buffer = buffer;
+        this.mapping = mapping;
+        this.channel = channel;
+        this.start = channel != null ? channel.position() : 0;
+        this.offsets = scan();
+        int[] chunks = chunks(ForkJoinPool.getCommonPoolParallelism());
+logger.log(Level.DEBUG, type.getName() + ": " + size() + " records, " + (chunks.length - 1) + " chunks");
+    }
+
+    /**
+     * finds boundaries of records.
+     * @param source accepts byte[], {@link ByteBuffer}, {@link Path} and {@link FileChannel}
+     * @throws IllegalArgumentException the source is not supported,
+     *         or the bean binder of the type is not a {@link DefaultBeanBinder}
+     * @throws EOFException the last record is incomplete
+     * @throws IllegalStateException a record has no byte
+     */
+    public static <T> ParallelDecoder<T> of(Object source, Class<T> type) throws IOException {
+        if (source instanceof byte[] bytes) {
+            return new ParallelDecoder<>(type, ByteBuffer.wrap(bytes), null, null);
+        } else if (source instanceof ByteBuffer buffer) {
+            return new ParallelDecoder<>(type, buffer.slice(), null, null);
+        } else if (source instanceof Path path) {
+            return new ParallelDecoder<>(type, null, MappedDataInput.map(path), null);
+        } else if (source instanceof FileChannel channel) {
+            return new ParallelDecoder<>(type, null, null, channel);
+        }
+        throw new IllegalArgumentException("unsupported source: " + source.getClass().getName());
+    }
+
+    /** @return bytes from the first record to the end of the source */
+    private long length() throws IOException {
+        return buffer != null ? buffer.remaining() : mapping != null ? mapping.size : channel.size() - start;
+    }
+
+    /** @return offsets of records and the end */
+    private long[] scan() throws IOException {
+        long length = length();
+        int size = Serdes.Util.sizeOf(type).orElse(0);
+        if (size > 0) {
+            if (length % size != 0) {
+                throw new EOFException("length: " + length + ", record size: " + size);
+            }
+            long[] offsets = new long[Math.toIntExact(length / size) + 1];
+            Arrays.setAll(offsets, i -> (long) i * size);
+            return offsets;
+        }
+
+        DefaultBeanBinder beanBinder = (DefaultBeanBinder) schema.newBeanBinder();
+        DefaultInputSource in = (DefaultInputSource) beanBinder.getIOSource(buffer != null ? buffer.duplicate() : mapping != null ? mapping : channel, schema.bigEndian);
+        if (beanBinder.getDefaultBinder().getClass() == DefaultBinder.class) {
+            in.projection = schema.projection(Set.of());
+        }
+        long[] offsets = new long[1024];
+        int n = 0;
+        try {
+            while (true) {
+                if (n == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, n * 2);
+                }
+                offsets[n++] = in.position() - start;
+                if (in.atEnd()) {
+                    break;
+                }
+                beanBinder.deserialize0(in, schema.newInstance(), null);
+                if (in.position() - start <= offsets[n - 1]) {
+                    throw new IllegalStateException("empty record at: " + offsets[n - 1]);
+                }
+            }
+        } finally {
+            if (in.channel != null) {
+                in.channel.release();
+                channel.position(start);
+            }
+        }
+        return Arrays.copyOf(offsets, n);
+    }
+
+    /** @return record index of chunk starts and the number of records, for the parallelism of a pool */
+    private synchronized int[] chunks(int parallelism) {
+        if (chunks == null || this.parallelism != parallelism) {
+            chunks = chunk(parallelism);
+            this.parallelism = parallelism;
+        }
+        return chunks;
+    }
+
+    /** @return record index of chunk starts and the number of records */
+    private int[] chunk(int parallelism) {
+        long target = Math.max(MIN_CHUNK, Math.min(CHUNK, offsets[offsets.length - 1] / (parallelism * 4L)));
+        List<Integer> starts = new ArrayList<>();
+        int records = offsets.length - 1;
+        for (int i = 0; i < records; ) {
+            starts.add(i);
+            long from = offsets[i];
+            long limit = mapping != null ? available(from) : Long.MAX_VALUE;
+            int j = i + 1;
+            while (j < records && offsets[j] - from < target && offsets[j + 1] - from <= limit) {
+                j++;
+            }
+            if (offsets[j] - from > limit) {
+                throw new UnsupportedOperationException("too large for a mapping: " + (offsets[j] - from) + " at " + from);
+            }
+            i = j;
+        }
+        starts.add(records);
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** @return bytes a mapped slice from the position can have */
+    private long available(long position) {
+        return mapping.slice(position, Integer.MAX_VALUE).remaining();
+    }
+
+    /** @return number of records */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /** @return offset of the record from the first record */
+    public long offset(int index) {
+        return offsets[index];
+    }
+
+    /** @return records of the chunk, decoded */
+    private List<T> decode(int[] chunks, int chunk) {
+        int from = chunks[chunk];
+        int to = chunks[chunk + 1];
+        try {
+            DefaultBeanBinder beanBinder = (DefaultBeanBinder) schema.newBeanBinder();
+            DefaultInputSource in = (DefaultInputSource) beanBinder.getIOSource(slice(offsets[from], (int) (offsets[to] - offsets[from])), schema.bigEndian);
+            List<T> beans = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                T bean = schema.newInstance();
+                beanBinder.deserialize0(in, bean, null);
+                beans.add(bean);
+            }
+            return beans;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return bytes of the source, thread safe */
+    private ByteBuffer slice(long offset, int length) throws IOException {
+        if (buffer != null) {
+            return buffer.slice((int) offset, length);
+        } else if (mapping != null) {
+            return mapping.slice(offset, length);
+        } else {
+            ByteBuffer dst = ByteBuffer.allocate(length);
+            long position = start + offset;
+            while (dst.hasRemaining()) {
+                if (channel.read(dst, position + dst.position()) < 0) {
+                    throw new EOFException("position: " + position + ", read: " + dst.position() + ", required: " + length);
+                }
+            }
+            return dst.flip();
+        }
+    }
+
+    /**
+     * chunks are decoded on the pool the terminal operation runs in, the common pool by default.
+     * chunks are sized for the pool this method is called in.
+     * an {@link IOException} is thrown as an {@link UncheckedIOException}.
+     * @param ordered false: records may be delivered in any order
+     * @return a parallel stream of records
+     */
+    public Stream<T> stream(boolean ordered) {
+        int[] chunks = chunks(ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool().getParallelism() : ForkJoinPool.getCommonPoolParallelism());
+        Stream<T> stream = IntStream.range(0, chunks.length - 1).parallel().mapToObj(i -> decode(chunks, i)).flatMap(List::stream);
+        return ordered ? stream : stream.unordered();
+    }
+
+    /** @return records in order, decoded on the common pool */
+    public List<T> decode() throws IOException {
+        return decode(ForkJoinPool.commonPool());
+    }
+
+    /** @return records in order, decoded on the pool in chunks sized for its parallelism */
+    public List<T> decode(ForkJoinPool pool) throws IOException {
+        try {
+            return pool.submit(() -> stream(true).toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException u) {
+                throw u.getCause();
+            } else if (e.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelDecoder{" + type.getName() + ", " + size() + " records}";
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+
+/**
+ * ParallelEncoder. serializes records on cores, and writes those in the original order.
+ * <p>
+ * records are divided into batches, a batch is encoded into a pooled buffer by its own bean binders,
+ * so contexts are not shared. encoded buffers are written in order by gathering writes.
+ * at most {@link #window(int)} batches are in flight, so memory is bounded by the window,
+ * the batch size and record sizes. a bean must be bound by {@link DefaultBeanBinder}.
+ * not thread safe.
+ * </p>
+ * <pre>
+ * try (FileChannel channel = FileChannel.open(path, WRITE, CREATE)) {
+ *     ParallelEncoder.of(channel).window(16).write(boxes);
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class ParallelEncoder {
+
+    /** initial bytes of a buffer */
+    private static final int BUFFER = 64 * 1024;
+
+    /** max buffers of a gathering write */
+    private static final int GATHER = 16;
+
+    /** */
+    private final WritableByteChannel out;
+
+    /** max batches in flight */
+    private int window = ForkJoinPool.getCommonPoolParallelism() * 2;
+
+    /** records of a batch */
+    private int batch = 1024;
+
+    /** */
+    private ExecutorService pool = ForkJoinPool.commonPool();
+
+    /** cleared buffers */
+    private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+    private ParallelEncoder(WritableByteChannel out) {
+        this.out = out;
+    }
+
+    /** the channel is not closed */
+    public static ParallelEncoder of(WritableByteChannel out) {
+        return new ParallelEncoder(out);
+    }
+
+    /** the stream is not closed */
+    public static ParallelEncoder of(OutputStream out) {
+        return new ParallelEncoder(Channels.newChannel(out));
+    }
+
+    /**
+     * @param window max batches encoded or waiting for writing
+     * @throws IllegalArgumentException window is less than 1
+     */
+    public ParallelEncoder window(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window: " + window);
+        }
+        this.window = window;
+        return this;
+    }
+
+    /**
+     * @param batch records encoded by a task
+     * @throws IllegalArgumentException batch is less than 1
+     */
+    public ParallelEncoder batch(int batch) {
+        if (batch < 1) {
+            throw new IllegalArgumentException("batch: " + batch);
+        }
+        this.batch = batch;
+        return this;
+    }
+
+    /** @param pool encodes batches, the common pool by default */
+    public ParallelEncoder pool(ExecutorService pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * serializes beans in the order of the iterable.
+     * @return bytes written
+     * @throws IllegalArgumentException a bean is not annotated with {@link Serdes}
+     */
+    public long write(Iterable<?> beans) throws IOException {
+        Deque<Future<ByteBuffer>> inFlight = new ArrayDeque<>();
+        long written = 0;
+        try {
+            Iterator<?> iterator = beans.iterator();
+            while (iterator.hasNext()) {
+                List<Object> records = new ArrayList<>(batch);
+                while (records.size() < batch && iterator.hasNext()) {
+                    records.add(iterator.next());
+                }
+                if (inFlight.size() >= window) {
+                    written += drain(inFlight, false);
+                }
+                inFlight.add(pool.submit(() -> encode(records)));
+            }
+            while (!inFlight.isEmpty()) {
+                written += drain(inFlight, true);
+            }
+        } finally {
+            inFlight.forEach(f -> f.cancel(true));
+        }
+        return written;
+    }
+
+    /**
+     * writes the head batch and following ones already encoded, or all if all is true.
+     * @return bytes written
+     */
+    private long drain(Deque<Future<ByteBuffer>> inFlight, boolean all) throws IOException {
+        List<ByteBuffer> gathered = new ArrayList<>();
+        do {
+            gathered.add(get(inFlight.poll()));
+        } while (!inFlight.isEmpty() && gathered.size() < GATHER && (all || inFlight.peek().isDone()));
+        ByteBuffer[] srcs = gathered.toArray(ByteBuffer[]::new);
+        long written = 0;
+        if (out instanceof GatheringByteChannel gbc) {
+            while (srcs[srcs.length - 1].hasRemaining()) {
+                written += gbc.write(srcs);
+            }
+        } else {
+            for (ByteBuffer src : srcs) {
+                while (src.hasRemaining()) {
+                    written += out.write(src);
+                }
+            }
+        }
+        for (ByteBuffer src : srcs) {
+            buffers.offer(src.clear());
+        }
+        return written;
+    }
+
+    /** @return the encoded buffer */
+    private static ByteBuffer get(Future<ByteBuffer> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException u) {
+                throw u.getCause();
+            } else if (e.getCause() instanceof RuntimeException r) {
+                throw r;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** @return a flipped buffer of records encoded */
+    private ByteBuffer encode(List<Object> records) {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(BUFFER);
+        }
+        Map<Class<?>, BeanBinder<?>> beanBinders = new HashMap<>();
+        for (Object bean : records) {
+            BeanBinder<?> beanBinder = beanBinders.computeIfAbsent(bean.getClass(), c -> Schema.of(c).newBeanBinder());
+            int position = buffer.position();
+            while (true) {
+                try {
+                    beanBinder.serialize(bean, buffer);
+                    break;
+                } catch (ByteBufferDataOutput.Overflow e) {
+                    // grows, and encodes the record again
+                    ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, BUFFER));
+                    larger.put(buffer.flip().limit(position));
+                    buffer = larger;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelEncoder{window: " + window + ", batch: " + batch + "}";
+    }
+}
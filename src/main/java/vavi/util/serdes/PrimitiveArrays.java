@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+
+/**
+ * PrimitiveArrays. bulk conversion between bytes and primitive arrays.
+ * <p>
+ * bytes are read or written by chunks and converted by {@link ByteBuffer} views
+ * of the specified byte order, instead of an element by an element.
+ * {@link ByteBufferDataInput} and {@link ByteBufferDataOutput} are converted by views of those buffers without copying.
+ * a boolean is a byte, non-zero is true.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class PrimitiveArrays {
+
+    private PrimitiveArrays() {
+    }
+
+    /** chunk size in bytes, multiple of 8 */
+    private static final int CHUNK = 8192;
+
+    /** shared zeros, never written */
+    private static final byte[] ZEROS = new byte[CHUNK];
+
+    /** chunk buffer per thread */
+    private static final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(CHUNK));
+
+    /** @return true when the class is a primitive type supported by this class */
+    static boolean isSupported(Class<?> componentType) {
+        return componentType.isPrimitive() && componentType != Void.TYPE;
+    }
+
+    /** @return byte size of a component */
+    static int sizeOf(Class<?> componentType) {
+        if (componentType == Byte.TYPE || componentType == Boolean.TYPE) {
+            return 1;
+        } else if (componentType == Short.TYPE || componentType == Character.TYPE) {
+            return 2;
+        } else if (componentType == Integer.TYPE || componentType == Float.TYPE) {
+            return 4;
+        } else if (componentType == Long.TYPE || componentType == Double.TYPE) {
+            return 8;
+        } else {
+            throw new IllegalArgumentException(componentType.getName());
+        }
+    }
+
+    /**
+     * reads length elements.
+     * @param array nullable, a new array is created when null or the length is different
+     * @return array or a new array
+     */
+    static Object read(DataInput in, Class<?> componentType, Object array, int length, boolean bigEndian) throws IOException {
+        if (array == null || Array.getLength(array) != length) {
+            array = Array.newInstance(componentType, length);
+        }
+        if (componentType == Byte.TYPE) {
+            in.readFully((byte[]) array, 0, length);
+            return array;
+        }
+        int unit = sizeOf(componentType);
+        ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        long bytes = (long) length * unit; // may be over int
+        if (in instanceof ByteBufferDataInput bin && bytes <= bin.maxAdvance()) {
+            // views of the source directly, a channel window is filled if needed
+            int position = bin.advance((int) bytes);
+            get(bin.buffer.slice(position, (int) bytes).order(order), array, 0, length);
+            return array;
+        }
+        ByteBuffer buffer = buffers.get();
+        int max = CHUNK / unit;
+        for (int offset = 0; offset < length; ) {
+            int n = Math.min(max, length - offset);
+            in.readFully(buffer.array(), 0, n * unit);
+            buffer.clear().limit(n * unit);
+            get(buffer.order(order), array, offset, n);
+            offset += n;
+        }
+        return array;
+    }
+
+    /**
+     * writes length elements, the first length elements of a longer array.
+     * @param array nullable, zeros are written when null
+     * @throws IllegalArgumentException the array is shorter than the length
+     */
+    static void write(DataOutput out, Class<?> componentType, Object array, int length, boolean bigEndian) throws IOException {
+        int unit = sizeOf(componentType);
+        if (array == null) {
+            writeZeros(out, (long) length * unit);
+            return;
+        }
+        checkLength(array, length);
+        if (componentType == Byte.TYPE) {
+            out.write((byte[]) array, 0, length);
+            return;
+        }
+        ByteOrder order = bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        long bytes = (long) length * unit; // may be over int
+        if (out instanceof ByteBufferDataOutput bout && bytes <= Integer.MAX_VALUE) {
+            // views of the destination directly
+            int position = bout.advance((int) bytes);
+            put(bout.buffer.slice(position, (int) bytes).order(order), array, 0, length);
+            return;
+        }
+        ByteBuffer buffer = buffers.get();
+        int max = CHUNK / unit;
+        for (int offset = 0; offset < length; ) {
+            int n = Math.min(max, length - offset);
+            buffer.clear().limit(n * unit);
+            put(buffer.order(order), array, offset, n);
+            out.write(buffer.array(), 0, n * unit);
+            offset += n;
+        }
+    }
+
+    /** @throws IllegalArgumentException the array is shorter than the length */
+    static void checkLength(Object array, int length) {
+        if (Array.getLength(array) < length) {
+            throw new IllegalArgumentException("array length: " + Array.getLength(array) + ", required: " + length);
+        }
+    }
+
+    /** writes length zeros */
+    static void writeZeros(DataOutput out, long length) throws IOException {
+        for (long rest = length; rest > 0; rest -= CHUNK) {
+            out.write(ZEROS, 0, (int) Math.min(CHUNK, rest));
+        }
+    }
+
+    /** view to array, n elements from the beginning of the view */
+    static void get(ByteBuffer view, Object array, int offset, int n) {
+        if (array instanceof byte[] a) {
+            view.get(0, a, offset, n);
+        } else if (array instanceof short[] a) {
+            view.asShortBuffer().get(a, offset, n);
+        } else if (array instanceof char[] a) {
+            view.asCharBuffer().get(a, offset, n);
+        } else if (array instanceof int[] a) {
+            view.asIntBuffer().get(a, offset, n);
+        } else if (array instanceof float[] a) {
+            view.asFloatBuffer().get(a, offset, n);
+        } else if (array instanceof long[] a) {
+            view.asLongBuffer().get(a, offset, n);
+        } else if (array instanceof double[] a) {
+            view.asDoubleBuffer().get(a, offset, n);
+        } else if (array instanceof boolean[] a) {
+            for (int i = 0; i < n; i++) {
+                a[offset + i] = view.get(i) != 0;
+            }
+        } else {
+            throw new IllegalArgumentException(array.getClass().getName());
+        }
+    }
+
+    /** array to view, n elements from the beginning of the view */
+    static void put(ByteBuffer view, Object array, int offset, int n) {
+        if (array instanceof byte[] a) {
+            view.put(0, a, offset, n);
+        } else if (array instanceof short[] a) {
+            view.asShortBuffer().put(a, offset, n);
+        } else if (array instanceof char[] a) {
+            view.asCharBuffer().put(a, offset, n);
+        } else if (array instanceof int[] a) {
+            view.asIntBuffer().put(a, offset, n);
+        } else if (array instanceof float[] a) {
+            view.asFloatBuffer().put(a, offset, n);
+        } else if (array instanceof long[] a) {
+            view.asLongBuffer().put(a, offset, n);
+        } else if (array instanceof double[] a) {
+            view.asDoubleBuffer().put(a, offset, n);
+        } else if (array instanceof boolean[] a) {
+            for (int i = 0; i < n; i++) {
+                view.put(i, (byte) (a[offset + i] ? 1 : 0));
+            }
+        } else {
+            throw new IllegalArgumentException(array.getClass().getName());
+        }
+    }
+}
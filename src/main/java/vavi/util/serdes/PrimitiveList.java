@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.reflect.Array;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * PrimitiveList. a fixed-size list view of a primitive array.
+ * <p>
+ * an element is boxed only when it is got, like {@link java.util.Arrays#asList(Object[])}
+ * elements are settable but the size is fixed.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+abstract class PrimitiveList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** the primitive array */
+    final Object array;
+
+    /** */
+    private final int size;
+
+    private PrimitiveList(Object array) {
+        this.array = array;
+        this.size = Array.getLength(array);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** @return component type of the backing array */
+    Class<?> componentType() {
+        return array.getClass().getComponentType();
+    }
+
+    /**
+     * @param array a primitive array
+     * @throws IllegalArgumentException array is not a primitive array
+     */
+    static PrimitiveList<?> of(Object array) {
+        if (array instanceof byte[] a) {
+            return new PrimitiveList<Byte>(a) {
+                @Override public Byte get(int index) { return a[index]; }
+                @Override public Byte set(int index, Byte e) { byte o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof short[] a) {
+            return new PrimitiveList<Short>(a) {
+                @Override public Short get(int index) { return a[index]; }
+                @Override public Short set(int index, Short e) { short o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof char[] a) {
+            return new PrimitiveList<Character>(a) {
+                @Override public Character get(int index) { return a[index]; }
+                @Override public Character set(int index, Character e) { char o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof int[] a) {
+            return new PrimitiveList<Integer>(a) {
+                @Override public Integer get(int index) { return a[index]; }
+                @Override public Integer set(int index, Integer e) { int o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof long[] a) {
+            return new PrimitiveList<Long>(a) {
+                @Override public Long get(int index) { return a[index]; }
+                @Override public Long set(int index, Long e) { long o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof float[] a) {
+            return new PrimitiveList<Float>(a) {
+                @Override public Float get(int index) { return a[index]; }
+                @Override public Float set(int index, Float e) { float o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof double[] a) {
+            return new PrimitiveList<Double>(a) {
+                @Override public Double get(int index) { return a[index]; }
+                @Override public Double set(int index, Double e) { double o = a[index]; a[index] = e; return o; }
+            };
+        } else if (array instanceof boolean[] a) {
+            return new PrimitiveList<Boolean>(a) {
+                @Override public Boolean get(int index) { return a[index]; }
+                @Override public Boolean set(int index, Boolean e) { boolean o = a[index]; a[index] = e; return o; }
+            };
+        } else {
+            throw new IllegalArgumentException(array == null ? "null" : array.getClass().getName());
+        }
+    }
+
+    /**
+     * @param componentType a primitive type
+     * @return the backing array when the list is a view of the type, otherwise a new unboxed array
+     */
+    static Object toArray(List<?> list, Class<?> componentType) {
+        if (list instanceof PrimitiveList<?> pl && pl.componentType() == componentType) {
+            return pl.array;
+        }
+        Object array = Array.newInstance(componentType, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Array.set(array, i, list.get(i));
+        }
+        return array;
+    }
+
+    /**
+     * @param boxed a wrapper class
+     * @return primitive type, null when boxed is not a wrapper class
+     */
+    static Class<?> unbox(Class<?> boxed) {
+        if (boxed == Byte.class) return Byte.TYPE;
+        if (boxed == Short.class) return Short.TYPE;
+        if (boxed == Character.class) return Character.TYPE;
+        if (boxed == Integer.class) return Integer.TYPE;
+        if (boxed == Long.class) return Long.TYPE;
+        if (boxed == Float.class) return Float.TYPE;
+        if (boxed == Double.class) return Double.TYPE;
+        if (boxed == Boolean.class) return Boolean.TYPE;
+        return null;
+    }
+}
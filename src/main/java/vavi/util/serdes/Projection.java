@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import vavi.beans.BeanUtil;
+import vavi.util.serdes.DefaultBeanBinder.DefaultContext;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * Projection. entries to be decoded for requested fields, and byte lengths of the others for skipping.
+ * <p>
+ * an entry is decoded when it is requested, or a script of a decoded entry, a skipped entry
+ * or a {@link Skip} refers it as {@code $#}. an entry is skipped only when {@link DefaultBinder} binds it
+ * and its byte length is fixed or computable without decoding it, i.e.
+ * <li>a number, a boolean or a character</li>
+ * <li>an array of a primitive type, the length is by {@link Element#value()} or by the array in the bean</li>
+ * <li>a {@link String} or a {@link Region}, the length is by {@link Element#value()}</li>
+ * an entry with {@link Element#condition()}, or a script refers {@code $_} decodes all entries before it.
+ * a validation of a skipped entry is not run.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class Projection {
+
+    private static final Logger logger = getLogger(Projection.class.getName());
+
+    /** {@code $#} variables */
+    private static final Pattern VARIABLE = Pattern.compile("\\$(\\d+)");
+
+    /** {@code $_} not {@code $__} */
+    private static final Pattern BEAN = Pattern.compile("\\$_(?!_)");
+
+    /** decoded or skipped by index of {@link Schema#entries} */
+    private final boolean[] decodes;
+
+    /** fixed byte length of a skipped entry, -1 when computed at skipping */
+    private final long[] lengths;
+
+    /** byte length of an element for a computed one */
+    private final int[] units;
+
+    /** */
+    private final Schema schema;
+
+    /** @throws IllegalArgumentException a name is not a field of the schema */
+    Projection(Schema schema, Set<String> names) {
+        this.schema = schema;
+        int n = schema.entries.length;
+        this.decodes = new boolean[n];
+        this.lengths = new long[n];
+        this.units = new int[n];
+
+        for (String name : names) {
+            Schema.Entry entry = Arrays.stream(schema.entries).filter(e -> e.field.getName().equals(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("no such field: " + name + " in " + schema.type.getName()));
+            decodes[entry.index] = true;
+        }
+        for (int i = 0; i < n; i++) {
+            units[i] = unit(schema.entries[i]);
+            lengths[i] = fixedLength(schema.entries[i], units[i]);
+            if (units[i] == 0) {
+                decodes[i] = true;
+            }
+        }
+
+        // dependencies, until no more entry is added
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Schema.Entry entry : schema.entries) {
+                if (decodes[entry.index]) {
+                    changed |= refer(entry.value, entry.index);
+                    changed |= refer(entry.validation, entry.index);
+                    if (!entry.condition.isEmpty()) {
+                        changed |= decodeBefore(entry.index);
+                    }
+                } else if (lengths[entry.index] < 0) {
+                    changed |= refer(entry.value, entry.index);
+                }
+            }
+            for (Schema.Gap gap : schema.gaps) {
+                if (gap.constant < 0) {
+                    changed |= refer(gap.value, (int) Arrays.stream(schema.entries).filter(e -> e.sequence < gap.sequence).count());
+                }
+            }
+        }
+logger.log(Level.DEBUG, () -> schema.type.getName() + ": " + names + " -> " + Arrays.toString(decodes));
+    }
+
+    /** @return true when an entry is added */
+    private boolean refer(String script, int index) {
+        boolean changed = false;
+        if (BEAN.matcher(script).find()) {
+            changed |= decodeBefore(index);
+        }
+        Matcher matcher = VARIABLE.matcher(script);
+        while (matcher.find()) {
+            int sequence = Integer.parseInt(matcher.group(1));
+            for (Schema.Entry entry : schema.entries) {
+                if (entry.sequence == sequence && !decodes[entry.index]) {
+                    decodes[entry.index] = true;
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /** @return true when an entry is added */
+    private boolean decodeBefore(int index) {
+        boolean changed = false;
+        for (int i = 0; i < index; i++) {
+            changed |= !decodes[i];
+            decodes[i] = true;
+        }
+        return changed;
+    }
+
+    /** @return true when the entry is decoded */
+    boolean decodes(Schema.Entry entry) {
+        return decodes[entry.index];
+    }
+
+    /**
+     * @return byte length of a skipped entry
+     * @throws IllegalArgumentException eval failed
+     */
+    long length(Schema.Entry entry, DefaultContext context) {
+        long length = lengths[entry.index];
+        if (length >= 0) {
+            return length;
+        }
+        long count;
+        if (entry.value.isEmpty()) {
+            Object array = BeanUtil.getFieldValue(entry.field, context.bean);
+            count = array == null ? 0 : Array.getLength(array);
+        } else {
+            count = context.evalLength(entry.valueExpression());
+        }
+        return count * units[entry.index];
+    }
+
+    /**
+     * byte length of an element as {@link DefaultBinder} binds
+     * @return 0 when the entry cannot be skipped
+     */
+    private static int unit(Schema.Entry entry) {
+        if (entry.binder != null || !entry.condition.isEmpty()) {
+            return 0;
+        }
+        Class<?> type = entry.field.getType();
+        if (type.isArray()) {
+            return PrimitiveArrays.isSupported(type.getComponentType()) ? PrimitiveArrays.sizeOf(type.getComponentType()) : 0;
+        } else if (type == String.class || type == Region.class) {
+            return entry.value.isEmpty() ? 0 : 1;
+        }
+        Class<?> primitive = type.isPrimitive() ? type : PrimitiveList.unbox(type);
+        return primitive != null ? PrimitiveArrays.sizeOf(primitive) : 0;
+    }
+
+    /**
+     * byte length of a primitive as {@link DefaultBinder} binds, considering {@link Schema.Entry#type}
+     * @return -1 for an array, a string or a region
+     */
+    private static long fixedLength(Schema.Entry entry, int unit) {
+        Class<?> type = entry.field.getType();
+        if (type.isArray() || type == String.class || type == Region.class) {
+            return -1;
+        } else if (type == Integer.TYPE || type == Integer.class) {
+            return entry.intType().size;
+        } else if (type == Long.TYPE || type == Long.class) {
+            return entry.longType().size;
+        }
+        return unit;
+    }
+}
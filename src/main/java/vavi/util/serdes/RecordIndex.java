@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntBinaryOperator;
+
+import vavi.beans.BeanUtil;
+import vavi.util.serdes.DefaultBeanBinder.DefaultInputSource;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * RecordIndex. an offset index of consecutive variable length records in a file.
+ * <p>
+ * {@link #update(Path, Class, String)} scans records once through the file as {@link Serdes.Util#deserialize(Object, Object, Set)}
+ * does, only the key field and fields those lengths depend on are decoded. the start offset of each record, and
+ * the value of the key field optionally, are stored into a sidecar file {@link #sidecar(Path)}.
+ * the next update scans only records appended after the last scan, the file is assumed to be append only.
+ * the sidecar is rebuilt when the file becomes shorter, or the class, the key or the type of the key is changed.
+ * an incomplete record at the end of the file is not indexed until it is completed.
+ * </p>
+ * <p>
+ * a key is an integral number or a {@link String}. keys are sorted in the sidecar, and searched by
+ * binary search. for duplicated keys, the first record is found.
+ * </p>
+ * <pre>
+ * RecordIndex&lt;Box&gt; index = RecordIndex.update(file, Box.class, "id");
+ * try (FileChannel channel = FileChannel.open(file)) {
+ *     Box box = index.get(channel, index.indexOf(1234));
+ * }
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class RecordIndex<T> {
+
+    private static final Logger logger = getLogger(RecordIndex.class.getName());
+
+    /** sidecar file signature */
+    private static final int MAGIC = 0x56534958; // "VSIX"
+
+    /** sidecar file format version */
+    private static final int VERSION = 2;
+
+    /** key kinds in the sidecar */
+    private static final byte NO_KEY = 0, LONG_KEY = 'J', STRING_KEY = 'S';
+
+    /** record class */
+    private final Class<T> type;
+
+    /** key field name, empty means no key */
+    private final String key;
+
+    /** one of {@link #NO_KEY}, {@link #LONG_KEY} and {@link #STRING_KEY} */
+    private final byte kind;
+
+    /** number of records */
+    private int size;
+
+    /** start offsets of records, from 0 to {@link #size} */
+    private long[] offsets;
+
+    /** end offset of the last record, where the next scan starts */
+    private long end;
+
+    /** sorted keys, null when the key is not integral */
+    private long[] longKeys;
+
+    /** sorted keys, null when the key is not a string */
+    private String[] stringKeys;
+
+    /** record indices of sorted keys */
+    private int[] records;
+
+    /** */
+    private final Schema schema;
+
+    private RecordIndex(Class<T> type, String key, byte kind) {
+        this.type = type;
+        this.key = key;
+        this.kind = kind;
+        this.offsets = new long[16];
+        this.schema = Schema.of(type);
+    }
+
+    /** @return the sidecar path, the file name with {@code .idx} */
+    public static Path sidecar(Path file) {
+        return file.resolveSibling(file.getFileName() + ".idx");
+    }
+
+    /** updates the index without a key */
+    public static <T> RecordIndex<T> update(Path file, Class<T> type) throws IOException {
+        return update(file, type, null);
+    }
+
+    /**
+     * loads the sidecar, scans records appended after it and saves the sidecar.
+     * @param key nullable, a field name for {@link #indexOf(Object)}
+     * @throws IllegalArgumentException the key is not a field, or the type of the key is not supported,
+     *         or the bean binder of the type is not a {@link DefaultBeanBinder}
+     */
+    public static <T> RecordIndex<T> update(Path file, Class<T> type, String key) throws IOException {
+        if (!(Schema.of(type).newBeanBinder() instanceof DefaultBeanBinder)) {
+            throw new IllegalArgumentException("not a default bean binder: " + type.getName());
+        }
+        key = key == null ? "" : key;
+        Field field = key.isEmpty() ? null : keyField(type, key);
+        byte kind = field == null ? NO_KEY : field.getType() == String.class ? STRING_KEY : LONG_KEY;
+        Path sidecar = sidecar(file);
+        RecordIndex<T> index = load(sidecar, type, key, kind);
+        boolean dirty = false;
+        if (index == null || Files.size(file) < index.end) {
+logger.log(Level.DEBUG, "rebuild: " + sidecar);
+            index = new RecordIndex<>(type, key, kind);
+            dirty = true;
+        }
+        int scanned = index.size;
+        Object[] keys = index.scan(file, field);
+        if (dirty || index.size > scanned) {
+            index.sortKeys(scanned, keys);
+            index.save(sidecar);
+        }
+logger.log(Level.DEBUG, "records: " + index.size + ", scanned: " + (index.size - scanned));
+        return index;
+    }
+
+    /** @throws IllegalArgumentException the key is not a field of the schema, or not supported */
+    private static Field keyField(Class<?> type, String key) {
+        Field field = Schema.of(type).fields.stream().filter(f -> f.getName().equals(key)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("no such field: " + key + " in " + type.getName()));
+        Class<?> keyType = field.getType().isPrimitive() ? field.getType() : PrimitiveList.unbox(field.getType());
+        if (field.getType() != String.class && keyType != Byte.TYPE && keyType != Short.TYPE && keyType != Integer.TYPE && keyType != Long.TYPE) {
+            throw new IllegalArgumentException("unsupported key type: " + field.getType().getName() + " of " + key);
+        }
+        return field;
+    }
+
+    /**
+     * scans records from {@link #end}.
+     * @return keys of new records in order, null when no key
+     */
+    private Object[] scan(Path file, Field field) throws IOException {
+        Object[] keys = field == null ? null : new Object[16];
+        int n = 0;
+        try (FileChannel channel = FileChannel.open(file)) {
+            long length = channel.size();
+            channel.position(end);
+            DefaultBeanBinder beanBinder = (DefaultBeanBinder) schema.newBeanBinder();
+            DefaultInputSource in = (DefaultInputSource) beanBinder.getIOSource(channel, schema.bigEndian);
+            if (beanBinder.getDefaultBinder().getClass() == DefaultBinder.class) {
+                in.projection = schema.projection(field == null ? Set.of() : Set.of(key));
+            }
+            try {
+                while (end < length) {
+                    T bean = schema.newInstance();
+                    try {
+                        beanBinder.deserialize0(in, bean, null);
+                    } catch (EOFException e) {
+logger.log(Level.DEBUG, "incomplete record at: " + end);
+                        break;
+                    }
+                    if (in.position() <= end) {
+                        throw new IllegalStateException("empty record at: " + end);
+                    }
+                    if (size == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                    }
+                    offsets[size++] = end;
+                    end = in.position();
+                    if (keys != null) {
+                        if (n == keys.length) {
+                            keys = Arrays.copyOf(keys, n * 2);
+                        }
+                        keys[n++] = BeanUtil.getFieldValue(field, bean);
+                    }
+                }
+            } finally {
+                in.channel.release();
+            }
+        }
+        return keys == null ? null : Arrays.copyOf(keys, n);
+    }
+
+    /** merges keys of new records from the record index old into the sorted keys */
+    private void sortKeys(int old, Object[] keys) {
+        if (kind == NO_KEY) {
+            return;
+        }
+        int n = size - old;
+        int[] order = new int[n];
+        Arrays.setAll(order, i -> i);
+        int[] merged = new int[size];
+        if (kind == STRING_KEY) {
+            String[] values = new String[n];
+            Arrays.setAll(values, i -> Objects.toString(keys[i], ""));
+            sort(order, (i, j) -> values[i].compareTo(values[j]));
+            String[] sorted = new String[size];
+            int i = 0, j = 0;
+            for (int k = 0; k < size; k++) {
+                if (j == n || (i < old && stringKeys[i].compareTo(values[order[j]]) <= 0)) {
+                    sorted[k] = stringKeys[i];
+                    merged[k] = records[i++];
+                } else {
+                    sorted[k] = values[order[j]];
+                    merged[k] = old + order[j++];
+                }
+            }
+            stringKeys = sorted;
+        } else {
+            long[] values = new long[n];
+            Arrays.setAll(values, i -> ((Number) keys[i]).longValue());
+            sort(order, (i, j) -> Long.compare(values[i], values[j]));
+            long[] sorted = new long[size];
+            int i = 0, j = 0;
+            for (int k = 0; k < size; k++) {
+                if (j == n || (i < old && longKeys[i] <= values[order[j]])) {
+                    sorted[k] = longKeys[i];
+                    merged[k] = records[i++];
+                } else {
+                    sorted[k] = values[order[j]];
+                    merged[k] = old + order[j++];
+                }
+            }
+            longKeys = sorted;
+        }
+        records = merged;
+    }
+
+    /** sorts indices by the comparator stably, a merge sort without boxing */
+    private static void sort(int[] order, IntBinaryOperator comparator) {
+        int[] work = new int[order.length];
+        for (int width = 1; width < order.length; width *= 2) {
+            for (int from = 0; from < order.length; from += width * 2) {
+                int middle = Math.min(from + width, order.length);
+                int to = Math.min(from + width * 2, order.length);
+                int i = from, j = middle;
+                for (int k = from; k < to; k++) {
+                    work[k] = j == to || (i < middle && comparator.applyAsInt(order[i], order[j]) <= 0) ? order[i++] : order[j++];
+                }
+            }
+            System.arraycopy(work, 0, order, 0, order.length);
+        }
+    }
+
+    /** @return null when the sidecar does not exist or does not match */
+    private static <T> RecordIndex<T> load(Path sidecar, Class<T> type, String key, byte kind) throws IOException {
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION || !dis.readUTF().equals(type.getName()) || !dis.readUTF().equals(key) ||
+                dis.readByte() != kind) {
+logger.log(Level.DEBUG, "not match: " + sidecar);
+                return null;
+            }
+            RecordIndex<T> index = new RecordIndex<>(type, key, kind);
+            index.end = dis.readLong();
+            index.size = dis.readInt();
+            index.offsets = Arrays.copyOf((long[]) PrimitiveArrays.read(dis, Long.TYPE, null, index.size, true), Math.max(index.size, 16));
+            if (kind == LONG_KEY) {
+                index.longKeys = (long[]) PrimitiveArrays.read(dis, Long.TYPE, null, index.size, true);
+            } else if (kind == STRING_KEY) {
+                index.stringKeys = new String[index.size];
+                for (int i = 0; i < index.size; i++) {
+                    index.stringKeys[i] = dis.readUTF();
+                }
+            }
+            if (kind != NO_KEY) {
+                index.records = (int[]) PrimitiveArrays.read(dis, Integer.TYPE, null, index.size, true);
+            }
+            return index;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (EOFException e) {
+logger.log(Level.WARNING, "broken: " + sidecar);
+            return null;
+        }
+    }
+
+    /** writes a temporary file, then replaces the sidecar */
+    private void save(Path sidecar) throws IOException {
+        Path temporary = sidecar.resolveSibling(sidecar.getFileName() + ".tmp");
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            dos.writeInt(MAGIC);
+            dos.writeInt(VERSION);
+            dos.writeUTF(type.getName());
+            dos.writeUTF(key);
+            dos.writeByte(kind);
+            dos.writeLong(end);
+            dos.writeInt(size);
+            PrimitiveArrays.write(dos, Long.TYPE, offsets, size, true);
+            if (kind == LONG_KEY) {
+                PrimitiveArrays.write(dos, Long.TYPE, longKeys, size, true);
+            } else if (kind == STRING_KEY) {
+                for (String stringKey : stringKeys) {
+                    dos.writeUTF(stringKey);
+                }
+            }
+            if (kind != NO_KEY) {
+                PrimitiveArrays.write(dos, Integer.TYPE, records, size, true);
+            }
+        }
+        Files.move(temporary, sidecar, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** @return number of records */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return start offset of the record
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public long offset(int index) {
+        Objects.checkIndex(index, size);
+        return offsets[index];
+    }
+
+    /**
+     * @return byte length of the record
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public long length(int index) {
+        Objects.checkIndex(index, size);
+        return (index + 1 < size ? offsets[index + 1] : end) - offsets[index];
+    }
+
+    /**
+     * @param key an integral number or a string as the key field
+     * @return index of the first record of the key, -1 when not found
+     * @throws IllegalStateException the index has no key
+     */
+    public int indexOf(Object key) {
+        if (this.key.isEmpty()) {
+            throw new IllegalStateException("no key");
+        }
+        int i;
+        if (longKeys != null) {
+            long value = ((Number) key).longValue();
+            i = Arrays.binarySearch(longKeys, 0, size, value);
+            while (i > 0 && longKeys[i - 1] == value) i--;
+        } else if (stringKeys != null) {
+            i = Arrays.binarySearch(stringKeys, 0, size, key);
+            while (i > 0 && stringKeys[i - 1].equals(key)) i--;
+        } else {
+            return -1; // no records
+        }
+        return i < 0 ? -1 : records[i];
+    }
+
+    /**
+     * deserializes the record from the channel of the indexed file.
+     * the channel position is set to the end of the record.
+     * @throws IndexOutOfBoundsException index is out of {@link #size()}
+     */
+    public T get(SeekableByteChannel channel, int index) throws IOException {
+        channel.position(offset(index));
+        return Serdes.Util.deserialize(channel, schema.newInstance());
+    }
+
+    @Override
+    public String toString() {
+        return "RecordIndex{" + type.getName() + ", " + size + " records" + (key.isEmpty() ? "" : ", key: " + key) + "}";
+    }
+}
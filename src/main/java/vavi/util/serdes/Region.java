@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Region. a reference to bytes of a source instead of a copy of those.
+ * <p>
+ * a field of this type is bound to the bytes of the length {@link Element#value()} evaluates,
+ * without reading those. a region of a {@link java.nio.file.Path} source refers the mapping,
+ * a region of a {@link SeekableByteChannel} source refers the channel, so the channel must be open
+ * while the region is used. a region of a {@link ByteBuffer} or byte[] source is a slice of the buffer.
+ * only a region of an {@link InputStream} source is a copy, because a stream cannot be read again.
+ * </p>
+ * <p>
+ * serializing a region writes the bytes by {@link FileChannel#transferTo(long, long, WritableByteChannel)}
+ * or by chunks, the bytes are not materialized.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class Region {
+
+    /** transfer unit for sources not mapped */
+    private static final int CHUNK = 64 * 1024;
+
+    /** position of the source, -1 for a copy of a stream */
+    private final long offset;
+
+    /** byte length */
+    private final long length;
+
+    /** index 0 is the region start, nullable */
+    private final ByteBuffer buffer;
+
+    /** nullable */
+    private final MappedDataInput.Mapping mapping;
+
+    /** nullable */
+    private final SeekableByteChannel channel;
+
+    private Region(long offset, long length, ByteBuffer buffer, MappedDataInput.Mapping mapping, SeekableByteChannel channel) {
+        this.offset = offset;
+        this.length = length;
+        this.buffer = buffer;
+        this.mapping = mapping;
+        this.channel = channel;
+    }
+
+    /** a region of bytes from the position to the limit of the buffer */
+    public static Region of(ByteBuffer buffer) {
+        return new Region(buffer.position(), buffer.remaining(), buffer.slice(), null, null);
+    }
+
+    /**
+     * a region of the channel
+     * @throws IllegalArgumentException offset or length is negative
+     */
+    public static Region of(SeekableByteChannel channel, long offset, long length) {
+        if (offset < 0 || length < 0) {
+            throw new IllegalArgumentException("offset: " + offset + ", length: " + length);
+        }
+        return new Region(offset, length, null, null, channel);
+    }
+
+    /**
+     * binds length bytes from the position of the input, then skips those.
+     * @throws EOFException the input is shorter than length
+     */
+    static Region read(DataInput in, long length) throws IOException {
+        if (in instanceof MappedDataInput min) {
+            long offset = min.position();
+            if (min.remaining() < length) {
+                throw new EOFException("remaining: " + min.remaining() + ", required: " + length);
+            }
+            min.position(offset + length);
+            return new Region(offset, length, null, min.mapping, null);
+        } else if (in instanceof ChannelDataInput cin) {
+            long offset = cin.position();
+            long remaining = cin.channel.size() - offset;
+            if (remaining < length) {
+                throw new EOFException("remaining: " + remaining + ", required: " + length);
+            }
+            cin.position(offset + length);
+            return new Region(offset, length, null, null, cin.channel);
+        } else if (in instanceof ByteBufferDataInput bin) {
+            int index = bin.advance(toInt(length));
+            return new Region(index, length, bin.buffer.slice(index, (int) length), null, null);
+        } else {
+            byte[] bytes = new byte[toInt(length)];
+            in.readFully(bytes);
+            return new Region(-1, length, ByteBuffer.wrap(bytes), null, null);
+        }
+    }
+
+    /** @throws UnsupportedOperationException length is larger than an int */
+    private static int toInt(long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new UnsupportedOperationException("too large for a buffer: " + length);
+        }
+        return (int) length;
+    }
+
+    /** @return position of the source, -1 when the region is a copy of a stream */
+    public long offset() {
+        return offset;
+    }
+
+    /** @return byte length */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * a file region is mapped, a region of other channels is read into a buffer.
+     * @return a read only buffer of the region
+     * @throws UnsupportedOperationException the region is larger than a buffer
+     */
+    public ByteBuffer asByteBuffer() throws IOException {
+        if (buffer != null) {
+            return buffer.asReadOnlyBuffer();
+        } else if (mapping != null) {
+            ByteBuffer slice = mapping.slice(offset, toInt(length));
+            if (slice.remaining() == length) {
+                return slice.asReadOnlyBuffer();
+            }
+            try (FileChannel fc = FileChannel.open(mapping.path, StandardOpenOption.READ)) {
+                return fc.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+        } else if (channel instanceof FileChannel fc) {
+            return fc.map(FileChannel.MapMode.READ_ONLY, offset, toInt(length));
+        } else {
+            ByteBuffer dst = ByteBuffer.allocate(toInt(length));
+            try (ReadableByteChannel rbc = openChannel()) {
+                while (dst.hasRemaining()) {
+                    if (rbc.read(dst) < 0) {
+                        throw new EOFException("region: " + offset + "+" + length + ", read: " + dst.position());
+                    }
+                }
+            }
+            return dst.flip().asReadOnlyBuffer();
+        }
+    }
+
+    /**
+     * the position of the source is not changed.
+     * @return a channel reads the region from the start
+     */
+    public ReadableByteChannel openChannel() {
+        return new ReadableByteChannel() {
+            long position;
+            boolean open = true;
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                if (!open) {
+                    throw new ClosedChannelException();
+                }
+                if (position >= length) {
+                    return -1;
+                }
+                int n = readAt(position, dst, (int) Math.min(dst.remaining(), length - position));
+                position += Math.max(n, 0);
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+
+    /** @return a stream reads the region from the start */
+    public InputStream openStream() {
+        return Channels.newInputStream(openChannel());
+    }
+
+    /** reads up to n bytes at the position of the region into dst */
+    private int readAt(long position, ByteBuffer dst, int n) throws IOException {
+        if (buffer != null) {
+            dst.put(buffer.slice((int) position, n));
+            return n;
+        } else if (mapping != null) {
+            ByteBuffer slice = mapping.slice(offset + position, n);
+            int r = slice.remaining();
+            dst.put(slice);
+            return r;
+        }
+        int limit = dst.limit();
+        dst.limit(dst.position() + n);
+        try {
+            if (channel instanceof FileChannel fc) {
+                return fc.read(dst, offset + position);
+            }
+            long saved = channel.position();
+            try {
+                channel.position(offset + position);
+                return channel.read(dst);
+            } finally {
+                channel.position(saved);
+            }
+        } finally {
+            dst.limit(limit);
+        }
+    }
+
+    /**
+     * writes whole the region.
+     * @return bytes written
+     * @throws EOFException the source is shorter than the region
+     */
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (channel instanceof FileChannel fc) {
+            for (long position = 0; position < length; ) {
+                long n = fc.transferTo(offset + position, length - position, target);
+                if (n <= 0 && offset + position >= fc.size()) {
+                    throw new EOFException("region: " + offset + "+" + length + ", size: " + fc.size());
+                }
+                position += n;
+            }
+        } else if (buffer != null || mapping != null) {
+            for (long position = 0; position < length; ) {
+                ByteBuffer slice = buffer != null ? buffer.slice() : mapping.slice(offset + position, (int) Math.min(Integer.MAX_VALUE, length - position));
+                position += slice.remaining();
+                while (slice.hasRemaining()) {
+                    target.write(slice);
+                }
+            }
+        } else {
+            ByteBuffer chunk = ByteBuffer.allocate(CHUNK);
+            ReadableByteChannel rbc = openChannel();
+            for (long position = 0; position < length; ) {
+                int n = rbc.read(chunk.clear());
+                if (n < 0) {
+                    throw new EOFException("region: " + offset + "+" + length + ", read: " + position);
+                }
+                position += n;
+                chunk.flip();
+                while (chunk.hasRemaining()) {
+                    target.write(chunk);
+                }
+            }
+        }
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "Region{" + offset + "+" + length + "}";
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import vavi.beans.BeanUtil;
+
+
+/**
+ * Schema. compiled {@link Serdes} and {@link Element} annotations of a class.
+ * <p>
+ * built once for each class and held by a {@link ClassValue}, so binders
+ * iterate {@link #entries} without cache lookups. the class and its fields
+ * are not pinned by any global cache.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+public final class Schema {
+
+    /** schemas by class */
+    private static final ClassValue<Schema> schemas = new ClassValue<>() {
+        @Override protected Schema computeValue(Class<?> type) {
+            return new Schema(type);
+        }
+    };
+
+    /** gets the schema of the class */
+    static Schema of(Class<?> clazz) {
+        return schemas.get(clazz);
+    }
+
+    /** {@link #eachBinderIndex} for nested @{@link Serdes} */
+    static final int NESTED = -1;
+
+    /** {@link #eachBinderIndex} for no each binder */
+    static final int NONE = -2;
+
+    /**
+     * scans {@link Binder#getEachBinders()}, not memoized, see {@link Entry#eachBinder(Binder)}.
+     * @return index of {@link Binder#getEachBinders()}, or {@link #NESTED}, {@link #NONE}
+     */
+    static int eachBinderIndex(Binder binder, Class<?> fieldClass) {
+        Binder.EachBinder[] eachBinders = binder.getEachBinders();
+        for (int i = 0; i < eachBinders.length; i++) {
+            if (eachBinders[i].matches(fieldClass)) {
+                return i;
+            }
+        }
+        return Binder.defaultEachBinder.matches(fieldClass) ? NESTED : NONE;
+    }
+
+    /** @return null when index is {@link #NONE} */
+    static Binder.EachBinder eachBinder(Binder binder, int index) {
+        return index >= 0 ? binder.getEachBinders()[index] : index == NESTED ? Binder.defaultEachBinder : null;
+    }
+
+    /** type keywords for {@link Element#value()} of numbers */
+    enum Type {
+        BYTE("byte", 1),
+        UNSIGNED_BYTE("unsigned byte", 1),
+        SHORT("short", 2),
+        UNSIGNED_SHORT("unsigned short", 2),
+        INT("int", 4),
+        UNSIGNED_INT("unsigned int", 4),
+        LONG("long", 8);
+        final String keyword;
+        final int size;
+        Type(String keyword, int size) {
+            this.keyword = keyword;
+            this.size = size;
+        }
+        /** @return null when value is not a keyword */
+        static Type of(String value) {
+            for (Type type : values()) {
+                if (type.keyword.equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** a field annotated by {@link Element} */
+    static final class Entry {
+
+        final Field field;
+        /** index of {@link Schema#entries} */
+        final int index;
+        /** {@link Element#sequence()} */
+        final int sequence;
+        /** variable name for scripts, "$#" */
+        final String name;
+        /** {@link Element#bigEndian()}, null means following {@link Serdes#bigEndian()} */
+        final Boolean bigEndian;
+        /** {@link Element#value()} */
+        final String value;
+        /** parsed {@link #value}, null when the value is not a type keyword */
+        final Type type;
+        /** {@link Element#condition()} */
+        final String condition;
+        /** {@link Element#validation()} */
+        final String validation;
+        /** {@link Element#encoding()}, otherwise {@link Serdes#encoding()} */
+        final String encoding;
+        /** resolved {@link #encoding}, null means the system encoding */
+        final Charset charset;
+        /** {@link Bound#binder()} instance, null means the default binder of the bean binder */
+        final Binder binder;
+
+        /** lazily compiled */
+        private volatile Expression valueExpression;
+        /** lazily compiled */
+        private volatile Expression validationExpression;
+        /** lazily resolved */
+        private volatile Method conditionMethod;
+        /** lazily selected, the last one */
+        private volatile EachBinderSlot eachBinderSlot;
+        /** the class condition method is searched from */
+        private final Class<?> owner;
+
+        private Entry(Field field, int index, Class<?> owner, String defaultEncoding) {
+            Element element = field.getAnnotation(Element.class);
+            this.field = field;
+            this.index = index;
+            this.owner = owner;
+            this.sequence = element.sequence();
+            this.name = "$" + sequence;
+            this.bigEndian = element.bigEndian().isEmpty() ? null : Boolean.valueOf(element.bigEndian());
+            this.value = element.value();
+            this.type = Type.of(value);
+            this.condition = element.condition();
+            this.validation = element.validation();
+            this.encoding = element.encoding().isEmpty() ? defaultEncoding : element.encoding();
+            this.charset = encoding.isEmpty() ? null : Charset.forName(encoding);
+            this.binder = Bound.Util.isBound(field) ? Bound.Util.getBinder(field) : null;
+        }
+
+        /** @return the type an int field is bound as, {@link Type#INT} unless a byte, an unsigned byte or an unsigned short */
+        Type intType() {
+            return type == Type.BYTE || type == Type.UNSIGNED_BYTE || type == Type.UNSIGNED_SHORT ? type : Type.INT;
+        }
+
+        /** @return the type a long field is bound as, {@link Type#LONG} unless an unsigned int */
+        Type longType() {
+            return type == Type.UNSIGNED_INT ? type : Type.LONG;
+        }
+
+        /** {@link #value} as a script for {@link DefaultBeanBinder} */
+        Expression valueExpression() {
+            Expression expression = valueExpression;
+            if (expression == null) {
+                expression = Expression.compile(value);
+                valueExpression = expression;
+            }
+            return expression;
+        }
+
+        /** {@link #validation} as a script for {@link DefaultBeanBinder} */
+        Expression validationExpression() {
+            Expression expression = validationExpression;
+            if (expression == null) {
+                expression = Expression.compile(validation);
+                validationExpression = expression;
+            }
+            return expression;
+        }
+
+        /**
+         * {@link #condition} as a method, signature is "method_name(I)B"
+         * @throws NoSuchMethodException no such method
+         */
+        Method conditionMethod() throws NoSuchMethodException {
+            Method method = conditionMethod;
+            if (method == null) {
+                method = BeanUtil.getMethodByNameOf(owner, condition, Integer.TYPE);
+                conditionMethod = method;
+            }
+            return method;
+        }
+
+        /** selected each binder index for a binder class */
+        private record EachBinderSlot(Class<?> binderClass, int index) {}
+
+        /**
+         * selects an each binder for this field, memoized by the binder class.
+         * @return null when no each binder matches
+         */
+        Binder.EachBinder eachBinder(Binder binder) {
+            EachBinderSlot slot = eachBinderSlot;
+            if (slot == null || slot.binderClass != binder.getClass()) {
+                slot = new EachBinderSlot(binder.getClass(), eachBinderIndex(binder, field.getType()));
+                eachBinderSlot = slot;
+            }
+            return Schema.eachBinder(binder, slot.index);
+        }
+
+        @Override
+        public String toString() {
+            return field.getName() + "(" + sequence + ")";
+        }
+    }
+
+    /** reserved bytes by {@link Skip} */
+    static final class Gap {
+
+        /** {@link Skip#sequence()} */
+        final int sequence;
+        /** {@link Skip#value()} */
+        final String value;
+        /** {@link Skip#align()} */
+        final int align;
+        /** {@link #value} as a number, -1 when the value is a script */
+        final long constant;
+
+        /** lazily compiled */
+        private volatile Expression valueExpression;
+
+        private Gap(Skip skip) {
+            this.sequence = skip.sequence();
+            this.value = skip.value();
+            this.align = skip.align();
+            this.constant = constant(value);
+        }
+
+        /** @return -1 when the value is not a number */
+        private static long constant(String value) {
+            if (value.isEmpty()) {
+                return 0;
+            }
+            try {
+                return Long.decode(value.trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        /** {@link #value} as a script for {@link DefaultBeanBinder} */
+        Expression valueExpression() {
+            Expression expression = valueExpression;
+            if (expression == null) {
+                expression = Expression.compile(value);
+                valueExpression = expression;
+            }
+            return expression;
+        }
+
+        @Override
+        public String toString() {
+            return "skip(" + sequence + ")";
+        }
+    }
+
+    /** the class */
+    final Class<?> type;
+
+    /** nullable, when the class and super classes are not annotated by {@link Serdes} */
+    private final Serdes annotation;
+
+    /** {@link Serdes#bigEndian()} */
+    final boolean bigEndian;
+
+    /** {@link Serdes#encoding()} */
+    final String encoding;
+
+    /** sorted by {@link Element#sequence()} */
+    final Entry[] entries;
+
+    /** sorted by {@link Skip#sequence()}, empty when no {@link Skip} */
+    final Gap[] gaps;
+
+    /** true when a gap has {@link Skip#align()} */
+    final boolean aligned;
+
+    /** fields of {@link #entries} */
+    final List<Field> fields;
+
+    /** entries by field */
+    private final Map<Field, Entry> entriesByField = new HashMap<>();
+
+    /** error message of sequences, empty means valid */
+    private final String invalidSequences;
+
+    /** */
+    private final Constructor<? extends BeanBinder<? extends BeanBinder.IOSource>> beanBinderConstructor;
+
+    private Schema(Class<?> type) {
+        this.type = type;
+
+        Serdes annotation = null;
+        for (Class<?> c = type; c != null && annotation == null; c = c.getSuperclass()) {
+            annotation = c.getAnnotation(Serdes.class);
+        }
+        this.annotation = annotation;
+        this.bigEndian = annotation == null || annotation.bigEndian();
+        this.encoding = annotation == null ? "" : annotation.encoding();
+
+        // search super classes recursively
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getAnnotation(Element.class) != null) {
+                    fields.add(field);
+                }
+            }
+        }
+        fields.sort((o1, o2) -> o1.getAnnotation(Element.class).sequence() - o2.getAnnotation(Element.class).sequence());
+        this.entries = new Entry[fields.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry(fields.get(i), i, type, encoding);
+        }
+        this.fields = Collections.unmodifiableList(Arrays.stream(entries).map(e -> e.field).toList());
+        for (Entry entry : entries) {
+            entriesByField.put(entry.field, entry);
+        }
+        List<Gap> gaps = new ArrayList<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Skip skip : c.getDeclaredAnnotationsByType(Skip.class)) {
+                gaps.add(new Gap(skip));
+            }
+        }
+        this.gaps = gaps.stream().sorted((o1, o2) -> o1.sequence - o2.sequence).toArray(Gap[]::new);
+        this.aligned = gaps.stream().anyMatch(g -> g.align > 0);
+        this.invalidSequences = validateSequences(entries, this.gaps);
+
+        try {
+            this.beanBinderConstructor = annotation == null ? null : annotation.beanBinder().getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @return error message, empty means valid */
+    private static String validateSequences(Entry[] entries, Gap[] gaps) {
+        Set<Integer> numbers = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.sequence < 1) {
+                return "sequence should be > 0: " + entry.field.getName() + ", " + entry.sequence;
+            }
+            if (!numbers.add(entry.sequence)) {
+                return "duplicate sequence: " + entry.field.getName() + ", " + entry.sequence;
+            }
+        }
+        for (Gap gap : gaps) {
+            if (gap.sequence < 1) {
+                return "sequence should be > 0: " + gap + ", " + gap.sequence;
+            }
+            if (!numbers.add(gap.sequence)) {
+                return "duplicate sequence: " + gap + ", " + gap.sequence;
+            }
+            if (gap.align < 0) {
+                return "align should be >= 0: " + gap + ", " + gap.align;
+            }
+        }
+        return "";
+    }
+
+    /**
+     * @throws IllegalArgumentException the class is not annotated with {@link Serdes}
+     */
+    Serdes annotation() {
+        if (annotation == null) {
+            throw new IllegalArgumentException("bean is not annotated with " + Serdes.class.getName());
+        }
+        return annotation;
+    }
+
+    /**
+     * for binders require sequences
+     * @throws IllegalArgumentException validation failed
+     */
+    void validateSequences() {
+        if (!invalidSequences.isEmpty()) {
+            throw new IllegalArgumentException(invalidSequences);
+        }
+    }
+
+    /**
+     * @return new instance, because a bean binder may have state
+     * @throws IllegalArgumentException the class is not annotated with {@link Serdes}
+     */
+    BeanBinder<? extends BeanBinder.IOSource> newBeanBinder() {
+        annotation();
+        try {
+            return beanBinderConstructor.newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** lazily got, the accessible no-arg constructor of the class */
+    private volatile Constructor<?> constructor;
+
+    /**
+     * @return a new instance of the class by the no-arg constructor
+     * @throws IllegalStateException the class has no no-arg constructor, or cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    <T> T newInstance() {
+        Constructor<?> c = constructor;
+        if (c == null) {
+            try {
+                c = type.getDeclaredConstructor();
+                c.setAccessible(true);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            constructor = c;
+        }
+        try {
+            return (T) c.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @return null when the field is not in this schema */
+    Entry entry(Field field) {
+        return entriesByField.get(field);
+    }
+
+    /** lazily built */
+    private volatile Optional<FixedLayout> fixedLayout;
+
+    /** @return null when the class is not a fixed layout, or sequences are invalid */
+    FixedLayout fixedLayout() {
+        Optional<FixedLayout> layout = fixedLayout;
+        if (layout == null) {
+            layout = invalidSequences.isEmpty() ? FixedLayout.of(this) : Optional.empty();
+            fixedLayout = layout;
+        }
+        return layout.orElse(null);
+    }
+
+    /** max number of projections cached per schema */
+    private static final int MAX_PROJECTIONS = 16;
+
+    /** projections by field names, the least recently used one is removed, guarded by itself */
+    private final Map<Set<String>, Projection> projections = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Set<String>, Projection> eldest) {
+            return size() > MAX_PROJECTIONS;
+        }
+    };
+
+    /**
+     * @param names field names to be decoded
+     * @throws IllegalArgumentException a name is not a field of this schema
+     */
+    Projection projection(Set<String> names) {
+        Set<String> key = Set.copyOf(names);
+        synchronized (projections) {
+            Projection projection = projections.get(key);
+            if (projection == null) {
+                projection = new Projection(this, key);
+                projections.put(key, projection);
+            }
+            return projection;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * ScriptEngines. shared script subsystem for binders.
+ * <p>
+ * an engine is pooled per thread, scripts are compiled once per thread and cached by its text.
+ * callers hold only {@link Bindings} for each invocation, so this class is thread safe.
+ * </p>
+ * system property:
+ * <li>{@code vavi.util.serdes.script.engine} ... script engine name, default {@code groovy}</li>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+final class ScriptEngines {
+
+    private static final Logger logger = getLogger(ScriptEngines.class.getName());
+
+    private ScriptEngines() {
+    }
+
+    /** script engine name */
+    private static final String engineName = System.getProperty("vavi.util.serdes.script.engine", "groovy");
+
+    /** max number of compiled scripts per thread */
+    private static final int MAX_SCRIPTS = 1024;
+
+    /** an engine and its compiled scripts, confined to a thread */
+    private static class Compiler {
+        final ScriptEngine engine;
+        final Map<String, CompiledScript> scripts = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+                return size() > MAX_SCRIPTS;
+            }
+        };
+
+        Compiler() {
+            ScriptEngineManager manager = new ScriptEngineManager();
+            engine = manager.getEngineByName(engineName);
+            if (engine == null) {
+                throw new IllegalStateException("no script engine: " + engineName);
+            }
+logger.log(Level.TRACE, "engine: " + engine.getFactory().getEngineName() + ", thread: " + Thread.currentThread().getName());
+        }
+
+        /** @throws ScriptException compile error */
+        CompiledScript compile(String script) throws ScriptException {
+            CompiledScript compiled = scripts.get(script);
+            if (compiled == null) {
+                if (engine instanceof Compilable compilable) {
+                    compiled = compilable.compile(script);
+                } else {
+                    compiled = new CompiledScript() {
+                        @Override public Object eval(ScriptContext context) throws ScriptException {
+                            return engine.eval(script, context);
+                        }
+                        @Override public ScriptEngine getEngine() {
+                            return engine;
+                        }
+                    };
+                }
+                scripts.put(script, compiled);
+            }
+            return compiled;
+        }
+    }
+
+    /** engine pool */
+    private static final ThreadLocal<Compiler> compilers = ThreadLocal.withInitial(Compiler::new);
+
+    /** creates bindings for an invocation */
+    static Bindings createBindings() {
+        return new SimpleBindings();
+    }
+
+    /**
+     * evaluates the script with bindings.
+     * @throws IllegalStateException when the script cannot be evaluated or there is no script engine
+     */
+    static Object eval(String script, Bindings bindings) {
+        try {
+            return compilers.get().compile(script).eval(bindings);
+        } catch (ScriptException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -13,6 +13,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.stream.Stream;
 import javax.cache.annotation.CacheResult;
 
 
@@ -50,7 +53,7 @@ public @interface Serdes {
      */
     class Util {
 
-        private static final Element.Util element = CachingDIContainer.injector().getInstance(Element.Util.class);
+        private static final Element.Util element = CachingDIContainer.getInstance(Element.Util.class);
 
         /** search super classes recursively */
         @CacheResult(cacheName = "serdes_elementFields")
@@ -134,18 +137,70 @@ public @interface Serdes {
          */
         @SuppressWarnings("unchecked")
         public static <T> T deserialize(Object in, T dstBean) throws IOException {
-            Serdes.Util serdes = CachingDIContainer.injector().getInstance(Serdes.Util.class);
-            BeanBinder<? extends BeanBinder.IOSource> binders = serdes.getBeanBinder(dstBean.getClass());
+            BeanBinder<? extends BeanBinder.IOSource> binders = Schema.of(dstBean.getClass()).newBeanBinder();
             return (T) binders.deserialize(in, dstBean);
         }
 
+        /**
+         * Deserializes only the fields into a POJO dstBean from in.
+         * fields not requested are skipped if possible, and remain as those were.
+         *
+         * @param fields field names
+         * @throws IllegalArgumentException thrown by validation failure, or a name is not a field
+         * @throws IllegalStateException might be thrown by wrong annotation settings
+         * @see BeanBinder#deserialize(Object, Object, Set)
+         */
+        @SuppressWarnings("unchecked")
+        public static <T> T deserialize(Object in, T dstBean, Set<String> fields) throws IOException {
+            BeanBinder<? extends BeanBinder.IOSource> binders = Schema.of(dstBean.getClass()).newBeanBinder();
+            return (T) binders.deserialize(in, dstBean, fields);
+        }
+
+        /**
+         * Deserializes consecutive records from in until the end of it, lazily.
+         *
+         * @see #stream(Object, Class, boolean)
+         */
+        public static <T> Stream<T> stream(Object in, Class<T> type) throws IOException {
+            return stream(in, type, false);
+        }
+
+        /**
+         * Deserializes consecutive records from in until the end of it, lazily.
+         * an {@link IOException} while streaming is thrown as an {@link java.io.UncheckedIOException},
+         * an incomplete last record as the one of an {@link java.io.EOFException}.
+         * close the stream to settle the position of a {@link java.nio.channels.SeekableByteChannel}.
+         *
+         * @param in the same as {@link #deserialize(Object, Object)}
+         * @param recycle true: one bean is returned for all records, arrays of the bean are read in place
+         *                when lengths are the same. a field not bound for a record remains as the previous one.
+         * @throws IllegalArgumentException the bean binder of the type is not a {@link DefaultBeanBinder}
+         */
+        public static <T> Stream<T> stream(Object in, Class<T> type, boolean recycle) throws IOException {
+            if (!(Schema.of(type).newBeanBinder() instanceof DefaultBeanBinder beanBinder)) {
+                throw new IllegalArgumentException("not a default bean binder: " + type.getName());
+            }
+            return beanBinder.stream(in, type, recycle);
+        }
+
+        /**
+         * a class is a fixed size when the class is bound by {@link DefaultBeanBinder} and all fields are fixed sizes.
+         * @return byte length of the encoded class, empty when it is variable
+         * @throws IllegalArgumentException the class is not annotated with {@link Serdes}
+         * @see FixedRecords
+         */
+        public static OptionalInt sizeOf(Class<?> clazz) {
+            Schema schema = Schema.of(clazz);
+            FixedLayout layout = schema.annotation().beanBinder() == DefaultBeanBinder.class ? schema.fixedLayout() : null;
+            return layout != null ? OptionalInt.of(layout.size) : OptionalInt.empty();
+        }
+
         /**
          * Serializes data from a POJO srcBean to out.
          */
         @SuppressWarnings("unchecked")
         public static <T> T serialize(Object srcBean, T out) throws IOException {
-            Serdes.Util serdes = CachingDIContainer.injector().getInstance(Serdes.Util.class);
-            BeanBinder<? extends BeanBinder.IOSource> binders = serdes.getBeanBinder(srcBean.getClass());
+            BeanBinder<? extends BeanBinder.IOSource> binders = Schema.of(srcBean.getClass()).newBeanBinder();
             return (T) binders.serialize(srcBean, out);
         }
     }
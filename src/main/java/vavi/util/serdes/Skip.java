@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package vavi.util.serdes;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+
+/**
+ * Skip. reserved bytes, padding or alignment between {@link Element}s, without a field.
+ * <p>
+ * bytes are skipped when deserializing, and zeros are written when serializing.
+ * {@link #sequence()} shares the numbering with {@link Element#sequence()}.
+ * </p>
+ * <pre>
+ * &#64;Serdes
+ * &#64;Skip(sequence = 3, value = "0xe2")      // 0xe2 bytes
+ * &#64;Skip(sequence = 5, align = 4)           // to a 4 bytes boundary from the bean start
+ * &#64;Skip(sequence = 7, value = "$6 - 8")    // a script computed length
+ * class Header { ... }
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026/10/18 nsano initial version <br>
+ */
+@java.lang.annotation.Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(Skip.List.class)
+public @interface Skip {
+
+    /** the position in {@link Element#sequence()}s */
+    int sequence();
+
+    /** byte length, a number or a script like {@link Element#value()}. empty means 0 */
+    String value() default "";
+
+    /** after skipping {@link #value()}, skips to a multiple of this from the bean start. 0 means no alignment */
+    int align() default 0;
+
+    /** container of {@link Skip}s */
+    @java.lang.annotation.Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface List {
+        Skip[] value();
+    }
+}
@@ -9,11 +9,43 @@ package vavi.util.serdes;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 import vavi.io.LittleEndianDataOutputStream;
 import vavi.test.box.Box;
@@ -27,6 +59,12 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -707,6 +745,1684 @@ Debug.println("bytes: " + StringUtil.getDump("Naohide Sano\0xyz".getBytes()));
         assertArrayEquals("xyzabc".getBytes(), bean.b.c);
     }
 
+    @Serdes
+    public static class Test28 {
+        @Element(sequence = 1)
+        public int size;
+        @Element(sequence = 2, value = "$1 * 2")
+        byte[] data;
+    }
+
+    @Test
+    @DisplayName("shared script engines among threads")
+    void test28() throws Exception {
+        ExecutorService es = Executors.newFixedThreadPool(4);
+        List<Future<Test28>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int n = i % 8 + 1;
+            futures.add(es.submit(() -> {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                baos.write(ByteUtil.getBeBytes(n));
+                baos.write(new byte[n * 2]);
+                Test28 bean = new Test28();
+                Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+                return bean;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            Test28 bean = futures.get(i).get();
+            assertEquals(i % 8 + 1, bean.size);
+            assertEquals(bean.size * 2, bean.data.length);
+        }
+        es.shutdown();
+    }
+
+    @Serdes
+    public static class Test29 {
+        @Element(sequence = 1, validation = "0x10")
+        public int a;
+        @Element(sequence = 2, value = "($1 + 2) * 3 - 0x10 >> 1")
+        byte[] b;
+        @Element(sequence = 3, value = "$_.a / 4 + len($2) % 4 + sizeof($1)")
+        byte[] c;
+        @Element(sequence = 4, validation = "'xyz'", value = "3")
+        String d;
+    }
+
+    @Serdes
+    public static class Test29Validation {
+        @Element(sequence = 1, value = "unsigned int", validation = "4294967295")
+        long a;
+        @Element(sequence = 2, validation = "1")
+        byte b;
+        @Element(sequence = 3, validation = "$1 - 4294967294")
+        int c;
+    }
+
+    /** @return messages of the script engine used instead of compiled expressions */
+    static List<String> scriptEngineUsed(Callable<?> task) throws Exception {
+        List<String> messages = new ArrayList<>();
+        Logger logger = Logger.getLogger(ExpressionCompiler.class.getName());
+        Level level = logger.getLevel();
+        Handler handler = new Handler() {
+            @Override public void publish(LogRecord record) {
+                if (record.getMessage().startsWith("script engine is used") || record.getMessage().startsWith("fallback")) {
+                    messages.add(record.getMessage());
+                }
+            }
+            @Override public void flush() {}
+            @Override public void close() {}
+        };
+        logger.setLevel(Level.FINEST);
+        logger.addHandler(handler);
+        try {
+            task.call();
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+        return messages;
+    }
+
+    @Test
+    @DisplayName("built-in expression")
+    void test29() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(ByteUtil.getBeBytes(16));
+        baos.write(new byte[(16 + 2) * 3 - 0x10 >> 1]);
+        baos.write(new byte[16 / 4 + 19 % 4 + 4]);
+        baos.write("xyz".getBytes());
+
+        Test29 bean = new Test29();
+        // all scripts are compiled, the script engine is not used
+        assertEquals(List.of(), scriptEngineUsed(() -> Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean)));
+        assertEquals(19, bean.b.length);
+        assertEquals(11, bean.c.length);
+        assertEquals("xyz", bean.d);
+
+        // a script out of the subset is evaluated by the script engine
+        assertEquals(1, scriptEngineUsed(() -> Expression.compile("[1, 2].size()")).size());
+
+        // a compiled one is kept by the schema entry, not by a global cache
+        Schema.Entry entry = Schema.of(Test29.class).entries[1];
+        assertSame(entry.valueExpression(), entry.valueExpression());
+        assertNotSame(Expression.compile(entry.value), Expression.compile(entry.value));
+
+        // validation compares numbers by those values, not by those types
+        byte[] bytes = {-1, -1, -1, -1, 1, 0, 0, 0, 1};
+        Test29Validation validation = new Test29Validation();
+        assertEquals(List.of(), scriptEngineUsed(() -> Serdes.Util.deserialize(bytes, validation)));
+        assertEquals(0xffff_ffffL, validation.a);
+        assertEquals(1, validation.b);
+        assertEquals(1, validation.c);
+        byte[] invalid = bytes.clone();
+        invalid[4] = 2;
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.deserialize(invalid, new Test29Validation()));
+        invalid[4] = 1;
+        invalid[8] = 2;
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.deserialize(invalid, new Test29Validation()));
+    }
+
+    @Serdes
+    public static class Test30 {
+        @Element(sequence = 1, value = "unsigned short")
+        int a;
+        @Element(sequence = 2)
+        int b;
+        @Element(sequence = 3, value = "sizeof($1) + sizeof($2)")
+        byte[] c;
+    }
+
+    @Test
+    @DisplayName("sizeof is scoped to a field, not a value")
+    void test30() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        dos.writeShort(4);
+        dos.writeInt(4);
+        dos.write(new byte[2 + 4]);
+
+        Test30 bean = new Test30();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+        assertEquals(4, bean.a);
+        assertEquals(4, bean.b);
+        assertEquals(6, bean.c.length);
+
+        // the same values by the script engine
+        Test30Script script = new Test30Script();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), script);
+        assertEquals(6, script.c.length);
+    }
+
+    @Serdes
+    public static class Test30Script {
+        @Element(sequence = 1, value = "unsigned short")
+        int a;
+        @Element(sequence = 2)
+        int b;
+        @Element(sequence = 3, value = "Math.abs(sizeof($1)) + sizeof($2)")
+        byte[] c;
+    }
+
+    @Serdes(bigEndian = false, encoding = "UTF-8")
+    public static class Test31Base {
+        @Element(sequence = 2, value = "unsigned short")
+        int b;
+    }
+
+    public static class Test31 extends Test31Base {
+        @Element(sequence = 1, bigEndian = "true")
+        int a;
+        @Element(sequence = 3, value = "$2", encoding = "ISO-8859-1")
+        String c;
+    }
+
+    @Test
+    @DisplayName("compiled schema")
+    void test31() throws Exception {
+        Schema schema = Schema.of(Test31.class);
+        assertSame(schema, Schema.of(Test31.class));
+        assertFalse(schema.bigEndian);
+        assertEquals(List.of("a", "b", "c"), schema.fields.stream().map(Field::getName).toList());
+        assertEquals(Schema.Type.UNSIGNED_SHORT, schema.entries[1].type);
+        assertEquals(StandardCharsets.UTF_8, schema.entries[1].charset);
+        assertEquals(StandardCharsets.ISO_8859_1, schema.entries[2].charset);
+        assertSame(schema.entries[2], schema.entry(Test31.class.getDeclaredField("c")));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(new byte[] {0, 0, 1, 2, 3, 0});
+        baos.write("\u00e9t\u00e9".getBytes(StandardCharsets.ISO_8859_1));
+
+        Test31 bean = new Test31();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+        assertEquals(0x102, bean.a);
+        assertEquals(3, bean.b);
+        assertEquals("\u00e9t\u00e9", bean.c);
+    }
+
+    @Serdes
+    public static class Test32 {
+        @Element(sequence = 1, value = "unsigned short")
+        int a;
+        @Element(sequence = 2, value = "$1")
+        byte[] b;
+
+        /** prints whether the container is booted by the first deserialize */
+        public static void main(String[] args) throws Exception {
+            AtomicBoolean booted = new AtomicBoolean();
+            Logger logger = Logger.getLogger(CachingDIContainer.class.getName());
+            logger.setLevel(Level.FINE);
+            logger.addHandler(new Handler() {
+                @Override public void publish(LogRecord record) {
+                    if (record.getMessage().startsWith("booting")) booted.set(true);
+                }
+                @Override public void flush() {}
+                @Override public void close() {}
+            });
+
+            Test32 bean = new Test32();
+            Serdes.Util.deserialize(new ByteArrayInputStream(new byte[] {0, 2, 1, 2}), bean);
+            System.out.println(booted.get());
+        }
+    }
+
+    /** @return {booted, guice loaded, jcache loaded} */
+    static List<Boolean> startup(String... properties) throws Exception {
+        Path log = Files.createTempFile("test32", ".log");
+        log.toFile().deleteOnExit();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                "-Xlog:class+load=info:file=" + log));
+        command.addAll(Arrays.asList(properties));
+        command.add(Test32.class.getName());
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        String[] lines = new String(process.getInputStream().readAllBytes()).trim().split("\\R");
+        assertEquals(0, process.waitFor());
+        String loaded = Files.readString(log);
+        return List.of(Boolean.valueOf(lines[lines.length - 1]),
+                loaded.contains("com.google.inject.Guice "),
+                loaded.contains("javax.cache.Caching "));
+    }
+
+    @Test
+    @DisplayName("guice and jcache are not initialized unless di is enabled, in a fresh jvm")
+    void test32() throws Exception {
+        assertEquals(List.of(false, false, false), startup());
+        assertEquals(List.of(false, false, false), startup("-Dvavi.util.serdes.di=false"));
+        assertEquals(List.of(false, false, false), startup("-Dvavi.util.serdes.cache.statistics=true"));
+        assertEquals(List.of(true, true, true), startup("-Dvavi.util.serdes.di=true"));
+    }
+
+    @Serdes
+    public static class Test33 {
+        @Element(sequence = 1)
+        int a;
+        @Bound(binder = AsciizBinder.class)
+        @Element(sequence = 2, value = "8")
+        String b;
+        @Element(sequence = 3)
+        Test33Nested c;
+    }
+
+    @Serdes
+    public static class Test33Nested {
+        @Element(sequence = 1, value = "unsigned byte")
+        int a;
+    }
+
+    @Test
+    @DisplayName("binders are resolved once per field")
+    void test33() throws Exception {
+        Schema schema = Schema.of(Test33.class);
+        assertSame(schema.entries[1].binder, Bound.Util.getBinder(Test33.class.getDeclaredField("b")));
+
+        DefaultBinder binder = new DefaultBinder();
+        assertSame(binder.getEachBinders()[1], binder.findEachBinder(int.class));
+        assertSame(Binder.defaultEachBinder, binder.findEachBinder(Test33Nested.class));
+        assertNull(binder.findEachBinder(Date.class));
+        assertSame(binder.getEachBinders()[1], schema.entries[0].eachBinder(binder));
+
+        for (int i = 0; i < 2; i++) {
+            Test33 bean = new Test33();
+            Serdes.Util.deserialize(new ByteArrayInputStream(new byte[] {0, 0, 0, 1, 'a', 'b', 'c', 0, 0, 0, 0, 0, 2}), bean);
+            assertEquals(1, bean.a);
+            assertEquals("abc", bean.b);
+            assertEquals(2, bean.c.a);
+        }
+    }
+
+    @Serdes
+    public static class Test34 {
+        public enum L {
+            L1(0x1_0000_0000L), L2(-1L), L3(7L);
+            final long v;
+            long getValue() { return v; }
+            L(long v) { this.v = v; }
+        }
+        public enum S {
+            RIFF("RIFF"), LIST("LIST"), ID3("ID3");
+            final String v;
+            String getValue() { return v; }
+            S(String v) { this.v = v; }
+        }
+        @Element(sequence = 1, value = "long")
+        L l1;
+        @Element(sequence = 2, value = "unsigned byte")
+        L l2;
+        @Element(sequence = 3, value = "4")
+        S s1;
+        @Element(sequence = 4, value = "4")
+        S s2;
+    }
+
+    @Test
+    @DisplayName("enum codec, sparse long and string values")
+    void test34() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        dos.writeLong(0x1_0000_0000L);
+        dos.writeByte(7);
+        dos.write("LIST".getBytes());
+        dos.write(new byte[] {'I', 'D', '3', 0});
+
+        Test34 bean = new Test34();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+        assertEquals(Test34.L.L1, bean.l1);
+        assertEquals(Test34.L.L3, bean.l2);
+        assertEquals(Test34.S.LIST, bean.s1);
+        assertEquals(Test34.S.ID3, bean.s2);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serdes.Util.serialize(bean, out);
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+
+        assertThrows(NoSuchElementException.class, () -> EnumCodec.of(Test34.L.class).decode(8));
+    }
+
+    @Serdes(bigEndian = false)
+    public static class Test35 {
+        @Element(sequence = 1, value = "3")
+        float[] f;
+        @Element(sequence = 2, value = "2", bigEndian = "true")
+        double[] d;
+        @Element(sequence = 3, value = "2")
+        char[] c;
+        @Element(sequence = 4, value = "3")
+        boolean[] z;
+        @Element(sequence = 5, value = "5000")
+        int[] i;
+        @Element(sequence = 6, value = "2")
+        short[] s;
+    }
+
+    @Test
+    @DisplayName("primitive arrays in bulk")
+    void test35() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LittleEndianDataOutputStream ledos = new LittleEndianDataOutputStream(baos);
+        DataOutputStream dos = new DataOutputStream(baos);
+        ledos.writeFloat(1.5f); ledos.writeFloat(-2f); ledos.writeFloat((float) Math.PI);
+        dos.writeDouble(Math.E); dos.writeDouble(-0.25);
+        ledos.writeShort('a'); ledos.writeShort('\u3042');
+        ledos.write(new byte[] {1, 0, 1});
+        for (int n = 0; n < 5000; n++) ledos.writeInt(n * 31);
+        ledos.writeShort(-2); ledos.writeShort(0x1234);
+
+        Test35 bean = new Test35();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+        assertArrayEquals(new float[] {1.5f, -2f, (float) Math.PI}, bean.f);
+        assertArrayEquals(new double[] {Math.E, -0.25}, bean.d);
+        assertArrayEquals(new char[] {'a', '\u3042'}, bean.c);
+        assertArrayEquals(new boolean[] {true, false, true}, bean.z);
+        assertEquals(4999 * 31, bean.i[4999]);
+        assertArrayEquals(new short[] {-2, 0x1234}, bean.s);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serdes.Util.serialize(bean, out);
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+    }
+
+    @Serdes(bigEndian = false)
+    static class Test36 {
+        @Element(sequence = 1, value = "2")
+        List<Short> sl;
+        @Element(sequence = 2, value = "2")
+        List<Double> dl;
+    }
+
+    @Test
+    @DisplayName("primitive backed list")
+    void test36() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LittleEndianDataOutputStream dos = new LittleEndianDataOutputStream(baos);
+        dos.writeShort(-1);
+        dos.writeShort(300);
+        dos.writeDouble(0.5);
+        dos.writeDouble(-8);
+
+        Test36 bean = new Test36();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), bean);
+        assertInstanceOf(PrimitiveList.class, bean.sl);
+        assertEquals(List.of((short) -1, (short) 300), bean.sl);
+        assertEquals(List.of(0.5, -8.0), bean.dl);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serdes.Util.serialize(bean, out);
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+
+        bean.dl = new ArrayList<>(List.of(0.5, -8.0));
+        out.reset();
+        Serdes.Util.serialize(bean, out);
+        assertArrayEquals(baos.toByteArray(), out.toByteArray());
+
+        // list of beans
+        Test20 test20 = new Test20();
+        test20.size = 2;
+        Test20_Child child = new Test20_Child();
+        child.child = 7;
+        test20.chldren = List.of(child, child);
+        out.reset();
+        Serdes.Util.serialize(test20, out);
+        assertArrayEquals(new byte[] {0, 0, 0, 2, 0, 0, 0, 7, 0, 0, 0, 7}, out.toByteArray());
+
+        // an initialized list is replaced by the view
+        Test36Initialized initialized = new Test36Initialized();
+        Serdes.Util.deserialize(new ByteArrayInputStream(baos.toByteArray()), initialized);
+        assertInstanceOf(PrimitiveList.class, initialized.sl);
+        assertEquals(List.of((short) -1, (short) 300), initialized.sl);
+        assertInstanceOf(PrimitiveList.class, initialized.dl);
+        assertEquals(List.of(0.5, -8.0), initialized.dl);
+    }
+
+    @Serdes(bigEndian = false)
+    static class Test36Initialized {
+        @Element(sequence = 1, value = "2")
+        List<Short> sl = new ArrayList<>(List.of((short) 9));
+        @Element(sequence = 2, value = "2")
+        Collection<Double> dl = new ArrayList<>();
+    }
+
+    @Serdes(bigEndian = false)
+    public static class Test37 {
+        @Element(sequence = 1, value = "unsigned short")
+        int a;
+        @Element(sequence = 2, bigEndian = "true")
+        long b;
+        @Element(sequence = 3, value = "$0 - 10")
+        byte[] c;
+    }
+
+    @Test
+    @DisplayName("ByteBuffer and byte[] source")
+    void test37() throws Exception {
+        byte[] bytes = {0x34, 0x12, 0, 0, 0, 0, 0, 0, 0, 5, 'a', 'b', 'c'};
+
+        Test37 bean = new Test37();
+        Serdes.Util.deserialize(bytes, bean);
+        assertEquals(0x1234, bean.a);
+        assertEquals(5, bean.b);
+        assertArrayEquals("abc".getBytes(), bean.c);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put(new byte[] {-1, -1}).put(bytes).flip().position(2);
+        Test37 bean2 = new Test37();
+        Serdes.Util.deserialize(direct, bean2);
+        assertEquals(0x1234, bean2.a);
+        assertArrayEquals("abc".getBytes(), bean2.c);
+        assertEquals(0, direct.remaining());
+
+        Test36 test36 = new Test36();
+        test36.sl = List.of((short) 1, (short) -2);
+        test36.dl = List.of(0.5, 1.5);
+        byte[] out = new byte[20];
+        Serdes.Util.serialize(test36, out);
+        assertArrayEquals(new byte[] {1, 0, -2, -1}, Arrays.copyOf(out, 4));
+
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        Serdes.Util.serialize(test36, buffer);
+        Serdes.Util.serialize(test36, buffer);
+        assertEquals(0, buffer.remaining());
+        assertThrows(EOFException.class, () -> Serdes.Util.serialize(test36, buffer));
+        buffer.flip().position(20);
+        assertArrayEquals(out, Arrays.copyOfRange(buffer.array(), 20, 40));
+
+        // primitive arrays are viewed directly
+        Test35 test35 = new Test35();
+        test35.f = new float[] {1, 2, 3};
+        test35.d = new double[] {4, 5};
+        test35.c = new char[] {'x', 'y'};
+        test35.z = new boolean[] {true, false, true};
+        test35.i = new int[5000];
+        test35.i[4999] = -7;
+        test35.s = new short[] {8, 9};
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serdes.Util.serialize(test35, baos);
+        ByteBuffer buffer35 = ByteBuffer.allocateDirect(baos.size());
+        Serdes.Util.serialize(test35, buffer35);
+        buffer35.flip();
+        byte[] actual = new byte[buffer35.remaining()];
+        buffer35.duplicate().get(actual);
+        assertArrayEquals(baos.toByteArray(), actual);
+        Test35 read35 = new Test35();
+        Serdes.Util.deserialize(buffer35, read35);
+        assertArrayEquals(test35.d, read35.d);
+        assertArrayEquals(test35.z, read35.z);
+        assertEquals(-7, read35.i[4999]);
+    }
+
+    @Serdes
+    public static class Test38 {
+        @Element(sequence = 1)
+        int length;
+        @Element(sequence = 2, bigEndian = "false")
+        short s;
+        @Element(sequence = 3, value = "$1")
+        byte[] data;
+    }
+
+    @Test
+    @DisplayName("buffered seekable channel")
+    void test38() throws Exception {
+        int[] lengths = {10, 100000, 5};
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        for (int i = 0; i < lengths.length; i++) {
+            dos.writeInt(lengths[i]);
+            dos.writeShort(Short.reverseBytes((short) (i + 1)));
+            byte[] data = new byte[lengths[i]];
+            Arrays.fill(data, (byte) (i + 1));
+            dos.write(data);
+        }
+        Path file = Files.createTempFile("test38", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, baos.toByteArray());
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            long position = 0;
+            for (int i = 0; i < lengths.length; i++) {
+                Test38 bean = new Test38();
+                Serdes.Util.deserialize(channel, bean);
+                assertEquals(lengths[i], bean.length);
+                assertEquals(i + 1, bean.s);
+                assertEquals(lengths[i], bean.data.length);
+                assertEquals(i + 1, bean.data[lengths[i] - 1]);
+                position += 6 + lengths[i];
+                // bytes read ahead are not consumed
+                assertEquals(position, channel.position());
+            }
+
+            // a seek by others discards the window
+            channel.position(0);
+            Test38 bean = new Test38();
+            Serdes.Util.deserialize(channel, bean);
+            assertEquals(10, bean.length);
+            assertEquals(16, channel.position());
+
+            // seeks and skips in and out of the window
+            channel.position(0);
+            ChannelDataInput.Window window = ChannelDataInput.acquire(channel);
+            ChannelDataInput be = new ChannelDataInput(channel, window);
+            ChannelDataInput le = new ChannelDataInput.LittleEndian(channel, window);
+            assertEquals(10, be.readInt());
+            assertEquals(1, le.readShort());
+            assertEquals(10, be.skipBytes(10));
+            assertEquals(100000, be.readInt());
+            be.position(4);
+            assertEquals(1, le.readShort());
+            assertEquals(100016, be.skipBytes(100016));
+            assertEquals(100022, be.position());
+            assertEquals(5, be.readInt());
+            assertEquals(3, le.readShort());
+            assertEquals(5, be.skipBytes(100));
+            assertThrows(EOFException.class, be::readByte);
+            be.position(16 + 6);
+            byte[] data = new byte[100000];
+            be.readFully(data);
+            assertEquals(2, data[99999]);
+            assertEquals(5, be.readInt());
+        }
+
+        // a write by others between deserializations is seen
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Serdes.Util.deserialize(channel, new Test38());
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0, 9, 7}), channel.position());
+            Test38 bean = new Test38();
+            Serdes.Util.deserialize(channel, bean);
+            assertEquals(1, bean.length);
+            assertEquals(9 << 8, bean.s);
+            assertArrayEquals(new byte[] {7}, bean.data);
+        }
+    }
+
+    /** counts bytes read */
+    static class CountingChannel implements SeekableByteChannel {
+        final SeekableByteChannel channel;
+        long read;
+        int sizes;
+        CountingChannel(SeekableByteChannel channel) {
+            this.channel = channel;
+        }
+        @Override public int read(ByteBuffer dst) throws IOException {
+            int n = channel.read(dst);
+            read += Math.max(0, n);
+            return n;
+        }
+        @Override public int write(ByteBuffer src) throws IOException { return channel.write(src); }
+        @Override public long position() throws IOException { return channel.position(); }
+        @Override public SeekableByteChannel position(long newPosition) throws IOException { channel.position(newPosition); return this; }
+        @Override public long size() throws IOException { sizes++; return channel.size(); }
+        @Override public SeekableByteChannel truncate(long size) throws IOException { channel.truncate(size); return this; }
+        @Override public boolean isOpen() { return channel.isOpen(); }
+        @Override public void close() throws IOException { channel.close(); }
+    }
+
+    @Test
+    @DisplayName("buffered seekable channel, small beans do not read a whole window")
+    void test38_2() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        for (int i = 0; i < 1000; i++) {
+            dos.writeInt(10);
+            dos.writeShort(Short.reverseBytes((short) i));
+            dos.write(new byte[10]);
+        }
+        Path file = Files.createTempFile("test38_2", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, baos.toByteArray());
+
+        // a bean a source
+        try (CountingChannel channel = new CountingChannel(FileChannel.open(file))) {
+            for (int i = 0; i < 1000; i++) {
+                Test38 bean = new Test38();
+                Serdes.Util.deserialize(channel, bean);
+                assertEquals(i, bean.s);
+            }
+            assertEquals(16 * 1000, channel.position());
+            assertTrue(channel.read < 2 * 16 * 1000, "read: " + channel.read);
+        }
+
+        // beans of a source
+        try (CountingChannel channel = new CountingChannel(FileChannel.open(file));
+             Stream<Test38> stream = Serdes.Util.stream(channel, Test38.class)) {
+            assertEquals(1000, stream.count());
+            assertEquals(16 * 1000, channel.read);
+            assertTrue(channel.sizes <= 2, "sizes: " + channel.sizes); // not per record
+        }
+    }
+
+    @Serdes
+    public static class Test39 {
+        @Element(sequence = 1)
+        int magic;
+        @Element(sequence = 2, value = "$0 - 3221225472l")
+        byte[] tail;
+    }
+
+    @Test
+    @DisplayName("memory mapped path over 2GB")
+    void test39() throws Exception {
+        // small one
+        Path small = Files.createTempFile("test39", ".bin");
+        small.toFile().deleteOnExit();
+        Files.write(small, new byte[] {0x34, 0x12, 0, 0, 0, 0, 0, 0, 0, 5, 'a', 'b', 'c'});
+        Test37 test37 = new Test37();
+        Serdes.Util.deserialize(small, test37);
+        assertEquals(0x1234, test37.a);
+        assertArrayEquals("abc".getBytes(), test37.c);
+
+        // sparse 3GB + 8 bytes
+        long size = 3L * 1024 * 1024 * 1024 + 8;
+        Path large = Files.createTempFile("test39", ".bin");
+        large.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(large, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 0xcafebabe));
+            // across the first stride boundary
+            channel.write(ByteBuffer.allocate(8).putLong(0, 0x0102030405060708L), MappedDataInput.STRIDE - 4);
+            channel.write(ByteBuffer.allocate(8).putLong(0, -2), size - 8);
+        }
+
+        DefaultBeanBinder.DefaultInputSource in = (DefaultBeanBinder.DefaultInputSource) new DefaultBeanBinder().getIOSource(large, true);
+        assertEquals(size, in.available);
+
+        Test39 bean = new Test39();
+        Serdes.Util.deserialize(large, bean);
+        assertEquals(0xcafebabe, bean.magic);
+        assertEquals(8, bean.tail.length);
+
+        MappedDataInput.Mapping mapping = MappedDataInput.map(large);
+        MappedDataInput be = new MappedDataInput(mapping);
+        MappedDataInput le = new MappedDataInput.LittleEndian(mapping);
+        be.position(MappedDataInput.STRIDE - 4);
+        assertEquals(0x0102030405060708L, be.readLong());
+        assertEquals(MappedDataInput.STRIDE + 4, le.position());
+        be.position(MappedDataInput.STRIDE - 4);
+        assertEquals(0x04030201, le.readInt());
+        assertEquals(0x05060708, be.readInt());
+        be.position(size - 8);
+        assertEquals(-2, be.readLong());
+        assertEquals(0, be.skipBytes(1));
+        assertThrows(EOFException.class, be::readByte);
+    }
+
+    @Serdes
+    public static class Test40 {
+        @Element(sequence = 1, value = "unsigned int")
+        long offset;
+        @Element(sequence = 2)
+        byte[] id = new byte[4];
+        @Element(sequence = 3, value = "$1 - sizeof($1) - len($2)")
+        Region data;
+    }
+
+    @Test
+    @DisplayName("region field")
+    void test40() throws Exception {
+        byte[] payload = new byte[200000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(baos);
+        dos.writeInt(8 + payload.length);
+        dos.write("mdat".getBytes());
+        dos.write(payload);
+        dos.writeInt(8 + 3);
+        dos.write("free".getBytes());
+        dos.write(new byte[] {1, 2, 3});
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test40", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        // byte[], stream, mapped path and channel
+        List<Object> sources = List.of(bytes, new ByteArrayInputStream(bytes), file);
+        for (Object source : sources) {
+            Test40 box = new Test40();
+            Serdes.Util.deserialize(source, box);
+            assertEquals(payload.length, box.data.length());
+            ByteBuffer buffer = box.data.asByteBuffer();
+            byte[] actual = new byte[buffer.remaining()];
+            buffer.get(actual);
+            assertArrayEquals(payload, actual, source.getClass().getName());
+            try (InputStream is = box.data.openStream()) {
+                assertArrayEquals(payload, is.readAllBytes());
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Serdes.Util.serialize(box, out);
+            assertArrayEquals(Arrays.copyOf(bytes, 8 + payload.length), out.toByteArray());
+        }
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            Test40 box = new Test40();
+            Serdes.Util.deserialize(channel, box);
+            assertEquals(8, box.data.offset());
+            // the payload is skipped
+            assertEquals(8 + payload.length, channel.position());
+            Test40 free = new Test40();
+            Serdes.Util.deserialize(channel, free);
+            assertEquals("free", new String(free.id));
+            assertEquals(3, free.data.asByteBuffer().get(2));
+
+            // transferred from the channel
+            Path copy = Files.createTempFile("test40", ".bin");
+            copy.toFile().deleteOnExit();
+            try (FileOutputStream fos = new FileOutputStream(copy.toFile())) {
+                Serdes.Util.serialize(box, fos);
+                Serdes.Util.serialize(free, fos);
+            }
+            assertArrayEquals(bytes, Files.readAllBytes(copy));
+
+            byte[] out = new byte[bytes.length];
+            ByteBuffer buffer = ByteBuffer.wrap(out);
+            Serdes.Util.serialize(box, buffer);
+            Serdes.Util.serialize(free, buffer);
+            assertArrayEquals(bytes, out);
+
+            // a short destination is not truncated
+            assertThrows(EOFException.class, () -> Serdes.Util.serialize(box, new byte[8 + payload.length - 1]));
+        }
+    }
+
+    @Serdes(bigEndian = false)
+    @Skip(sequence = 2, value = "0xe2")
+    @Skip(sequence = 4, align = 8)
+    @Skip(sequence = 6, value = "$5 * 2")
+    public static class Test41 {
+        @Element(sequence = 1)
+        int magic;
+        @Element(sequence = 3)
+        byte b;
+        @Element(sequence = 5)
+        short n;
+        @Element(sequence = 7)
+        int tail;
+    }
+
+    @Serdes(bigEndian = false)
+    public static class Test41Parent {
+        @Element(sequence = 1)
+        byte[] prefix = new byte[3];
+        @Element(sequence = 2)
+        Test41 child;
+    }
+
+    @Test
+    @DisplayName("skip, padding and alignment")
+    void test41() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(244).order(ByteOrder.LITTLE_ENDIAN);
+        Arrays.fill(buffer.array(), (byte) 0x55);
+        buffer.putInt(0, 0x12345678);
+        buffer.put(230, (byte) 9);
+        buffer.putShort(232, (short) 3);
+        buffer.putInt(240, -1);
+        byte[] bytes = buffer.array();
+
+        byte[] expected = bytes.clone();
+        Arrays.fill(expected, 4, 4 + 0xe2, (byte) 0);
+        expected[231] = 0;
+        Arrays.fill(expected, 234, 240, (byte) 0);
+
+        for (Object source : List.of(bytes, new ByteArrayInputStream(bytes))) {
+            Test41 bean = new Test41();
+            Serdes.Util.deserialize(source, bean);
+            assertEquals(0x12345678, bean.magic);
+            assertEquals(9, bean.b);
+            assertEquals(3, bean.n);
+            assertEquals(-1, bean.tail);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Serdes.Util.serialize(bean, baos);
+            assertArrayEquals(expected, baos.toByteArray());
+            byte[] out = new byte[244];
+            Arrays.fill(out, (byte) 0x55);
+            Serdes.Util.serialize(bean, out);
+            assertArrayEquals(expected, out);
+        }
+
+        Path file = Files.createTempFile("test41", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+        try (FileChannel channel = FileChannel.open(file)) {
+            Test41 bean = new Test41();
+            Serdes.Util.deserialize(channel, bean);
+            assertEquals(-1, bean.tail);
+            assertEquals(244, channel.position());
+        }
+
+        // alignment is relative to the nested bean start
+        byte[] nested = new byte[3 + 244];
+        System.arraycopy(bytes, 0, nested, 3, 244);
+        Test41Parent parent = new Test41Parent();
+        Serdes.Util.deserialize(new ByteArrayInputStream(nested), parent);
+        assertEquals(-1, parent.child.tail);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serdes.Util.serialize(parent, baos);
+        assertArrayEquals(expected, Arrays.copyOfRange(baos.toByteArray(), 3, 3 + 244));
+
+        assertThrows(EOFException.class, () -> Serdes.Util.deserialize(Arrays.copyOf(bytes, 100), new Test41()));
+    }
+
+    @Serdes
+    public static class Test42 {
+        @Element(sequence = 1)
+        int a;
+        @Element(sequence = 2, value = "$1")
+        byte[] blob;
+        @Element(sequence = 3, value = "8", validation = "\"never\"")
+        String s;
+        @Element(sequence = 4)
+        int b;
+        @Element(sequence = 5)
+        short[] arr = new short[3];
+        @Element(sequence = 6)
+        long c;
+    }
+
+    @Test
+    @DisplayName("projection")
+    void test42() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 5 + 8 + 4 + 6 + 8 + 4);
+        buffer.putInt(5).put(new byte[5]).put("12345678".getBytes()).putInt(7).putShort((short) 1).putShort((short) 2).putShort((short) 3).putLong(-9).putInt(99);
+        byte[] bytes = buffer.array();
+
+        Path file = Files.createTempFile("test42", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+        try (FileChannel channel = FileChannel.open(file)) {
+            Test42 bean = Serdes.Util.deserialize(channel, new Test42(), Set.of("b", "c"));
+            assertEquals(5, bean.a); // "$1" of the skipped blob
+            assertNull(bean.blob);
+            assertNull(bean.s); // validation is not run
+            assertEquals(7, bean.b);
+            assertArrayEquals(new short[3], bean.arr);
+            assertEquals(-9, bean.c);
+            assertEquals(bytes.length - 4, channel.position());
+        }
+
+        for (Object source : List.of(bytes, new ByteArrayInputStream(bytes), file)) {
+            Test42 bean = Serdes.Util.deserialize(source, new Test42(), Set.of("arr"));
+            assertArrayEquals(new short[] {1, 2, 3}, bean.arr);
+            assertEquals(0, bean.b);
+            assertEquals(0, bean.c);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.deserialize(bytes, new Test42()));
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.deserialize(bytes, new Test42(), Set.of("x")));
+
+        // projections are cached up to a bound
+        Schema schema = Schema.of(Test42.class);
+        Projection projection = schema.projection(Set.of("a"));
+        assertSame(projection, schema.projection(Set.of("a")));
+        List<String> names = List.of("a", "blob", "s", "b", "arr", "c");
+        for (int i = 1; i < 1 << names.size(); i++) {
+            int bits = i;
+            schema.projection(new HashSet<>(names.stream().filter(n -> (bits & 1 << names.indexOf(n)) != 0).toList()));
+        }
+        assertNotSame(projection, schema.projection(Set.of("a")));
+    }
+
+    @Serdes(bigEndian = false)
+    @Skip(sequence = 4, value = "1", align = 4)
+    public static class Test43 {
+        @Element(sequence = 1)
+        boolean f;
+        @Element(sequence = 2)
+        byte b;
+        @Element(sequence = 3, bigEndian = "true")
+        short s;
+        @Element(sequence = 5, value = "unsigned short")
+        int us;
+        @Element(sequence = 6, value = "unsigned int")
+        long ui;
+        @Element(sequence = 7)
+        Integer boxed;
+        @Element(sequence = 8)
+        char c;
+        @Element(sequence = 9)
+        float x;
+        @Element(sequence = 10)
+        double y;
+        @Element(sequence = 11, value = "3")
+        int[] ints;
+        @Element(sequence = 12, value = "7", encoding = "UTF-8")
+        String name;
+        @Element(sequence = 13)
+        long l;
+    }
+
+    @Serdes
+    public static class Test43String {
+        @Element(sequence = 1)
+        int i;
+        @Element(sequence = 2, value = "4")
+        String s;
+        @Element(sequence = 3)
+        int j;
+    }
+
+    @Serdes
+    public static class Test43StringCondition {
+        @Element(sequence = 1)
+        int i;
+        @Element(sequence = 2, value = "4")
+        String s;
+        @Element(sequence = 3, condition = "condition")
+        int j;
+        boolean condition(int sequence) {
+            return true;
+        }
+    }
+
+    @Test
+    @DisplayName("fixed layout")
+    void test43() throws Exception {
+        FixedLayout layout = Schema.of(Test43.class).fixedLayout();
+        assertEquals(1 + 1 + 2 + 4 + 2 + 4 + 4 + 2 + 4 + 8 + 12 + 7 + 8, layout.size);
+        assertNull(Schema.of(Test42.class).fixedLayout());
+
+        byte[] bytes = new byte[layout.size];
+        new Random(43).nextBytes(bytes);
+        bytes[0] = 1; // a boolean is written as 1
+        Arrays.fill(bytes, 4, 8, (byte) 0); // skip
+        System.arraycopy("sanoやい".getBytes(StandardCharsets.UTF_8), 0, bytes, 44, 7);
+
+        // the generic path by a binder not the default one
+        DefaultBinder binder = new DefaultBinder() {};
+        DefaultBeanBinder generic = new DefaultBeanBinder() {
+            @Override protected Binder getDefaultBinder() {
+                return binder;
+            }
+        };
+        Test43 expected = new Test43();
+        generic.deserialize(bytes, expected);
+
+        for (Object source : List.of(bytes, new ByteArrayInputStream(bytes))) {
+            Test43 bean = Serdes.Util.deserialize(source, new Test43());
+            for (Field field : Test43.class.getDeclaredFields()) {
+                assertEquals(Arrays.deepToString(new Object[] {field.get(expected)}), Arrays.deepToString(new Object[] {field.get(bean)}), field.getName());
+            }
+            assertEquals("sanoや", bean.name);
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Serdes.Util.serialize(bean, baos);
+            assertArrayEquals(bytes, baos.toByteArray());
+            byte[] out = new byte[bytes.length];
+            Arrays.fill(out, (byte) 0x55);
+            Serdes.Util.serialize(bean, out);
+            assertArrayEquals(bytes, out);
+            baos.reset();
+            generic.serialize(bean, baos);
+            assertArrayEquals(bytes, baos.toByteArray());
+        }
+
+        // short source
+        assertThrows(EOFException.class, () -> Serdes.Util.deserialize(Arrays.copyOf(bytes, 10), new Test43()));
+        Test43 bean = new Test43();
+        bean.boxed = 1;
+        bean.name = "too long";
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.serialize(bean, new ByteArrayOutputStream()));
+
+        // the first elements of a longer array, the same as the generic path
+        bean.name = "1234567";
+        bean.ints = new int[] {1, 2, 3, 4};
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Serdes.Util.serialize(bean, baos);
+        ByteArrayOutputStream expectedBytes = new ByteArrayOutputStream();
+        generic.serialize(bean, expectedBytes);
+        assertArrayEquals(expectedBytes.toByteArray(), baos.toByteArray());
+        assertArrayEquals(new int[] {1, 2, 3}, Serdes.Util.deserialize(baos.toByteArray(), new Test43()).ints);
+        // a shorter array is an error
+        bean.ints = new int[] {1};
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.serialize(bean, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.serialize(bean, new byte[layout.size]));
+        assertThrows(IllegalArgumentException.class, () -> generic.serialize(bean, new ByteArrayOutputStream()));
+
+        // a shorter string is padded, the same as the generic path
+        Test43String fixed = new Test43String();
+        fixed.i = 1;
+        fixed.s = "ab";
+        fixed.j = 2;
+        Test43StringCondition conditional = new Test43StringCondition();
+        conditional.i = 1;
+        conditional.s = "ab";
+        conditional.j = 2;
+        assertNotNull(Schema.of(Test43String.class).fixedLayout());
+        assertNull(Schema.of(Test43StringCondition.class).fixedLayout());
+        byte[] padded = {0, 0, 0, 1, 'a', 'b', 0, 0, 0, 0, 0, 2};
+        ByteArrayOutputStream paddedBytes = new ByteArrayOutputStream();
+        Serdes.Util.serialize(fixed, paddedBytes);
+        assertArrayEquals(padded, paddedBytes.toByteArray());
+        paddedBytes.reset();
+        Serdes.Util.serialize(conditional, paddedBytes);
+        assertArrayEquals(padded, paddedBytes.toByteArray());
+        assertEquals(2, Serdes.Util.deserialize(padded, new Test43StringCondition()).j);
+        conditional.s = "abcde";
+        assertThrows(IllegalArgumentException.class, () -> Serdes.Util.serialize(conditional, new ByteArrayOutputStream()));
+
+        // a large bean is bound slot by slot, the buffer per thread is not grown over the max
+        FixedLayout largeLayout = Schema.of(Test43Large.class).fixedLayout();
+        assertEquals(4 + 2 + 8 * 20000 + 5, largeLayout.size);
+        byte[] large = new byte[largeLayout.size];
+        new Random(43).nextBytes(large);
+        Arrays.fill(large, 4, 6, (byte) 0); // skip
+        Test43Large expectedLarge = new Test43Large();
+        generic.deserialize(large, expectedLarge);
+        Test43Large beanLarge = new Test43Large();
+        long[] values = new long[20000];
+        beanLarge.values = values;
+        Serdes.Util.deserialize(new ByteArrayInputStream(large), beanLarge);
+        assertSame(values, beanLarge.values);
+        assertEquals(expectedLarge.i, beanLarge.i);
+        assertArrayEquals(expectedLarge.values, beanLarge.values);
+        assertArrayEquals(expectedLarge.b, beanLarge.b);
+        assertTrue(FixedLayout.buffer(1).capacity() <= FixedLayout.MAX_BUFFER);
+        ByteArrayOutputStream largeOut = new ByteArrayOutputStream();
+        Serdes.Util.serialize(beanLarge, largeOut);
+        assertArrayEquals(large, largeOut.toByteArray());
+        assertTrue(FixedLayout.buffer(1).capacity() <= FixedLayout.MAX_BUFFER);
+    }
+
+    @Serdes
+    @Skip(sequence = 2, value = "2")
+    public static class Test43Large {
+        @Element(sequence = 1)
+        int i;
+        @Element(sequence = 3, value = "20000")
+        long[] values;
+        @Element(sequence = 4, value = "5")
+        byte[] b;
+    }
+
+    @Test
+    @DisplayName("fixed records")
+    void test44() throws Exception {
+        assertEquals(59, Serdes.Util.sizeOf(Test43.class).getAsInt());
+        assertTrue(Serdes.Util.sizeOf(Test41.class).isEmpty()); // a script skip
+        assertTrue(Serdes.Util.sizeOf(Test42.class).isEmpty());
+        assertTrue(Serdes.Util.sizeOf(Test41Parent.class).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> FixedRecords.of(new byte[0], Test42.class));
+
+        int n = 1000;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(new byte[] {1, 2, 3}); // header
+        for (int i = 0; i < n; i++) {
+            Test43 bean = new Test43();
+            bean.us = i;
+            bean.boxed = 0;
+            bean.l = -i;
+            Serdes.Util.serialize(bean, baos);
+        }
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test44", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (Object source : List.of(bytes, ByteBuffer.wrap(bytes), file, channel)) {
+                FixedRecords<Test43> records = FixedRecords.of(source, 3, Test43.class);
+                assertEquals(n, records.size());
+                assertEquals(59, records.recordSize());
+                assertEquals(n - 1, records.get(n - 1).us);
+                assertEquals(-500, records.get(500, new Test43()).l);
+                List<Test43> range = records.range(10, 20);
+                assertEquals(10, range.size());
+                for (int i = 0; i < range.size(); i++) {
+                    assertEquals(10 + i, range.get(i).us);
+                    assertEquals(-10 - i, range.get(i).l);
+                }
+                assertEquals(n, records.range(0, n).size());
+                assertThrows(IndexOutOfBoundsException.class, () -> records.get(n));
+                assertThrows(IndexOutOfBoundsException.class, () -> records.range(5, n + 1));
+            }
+            assertEquals(0, channel.position());
+        }
+    }
+
+    @Serdes
+    public static class Test45 {
+        @Element(sequence = 1)
+        int length;
+        @Element(sequence = 2)
+        int id;
+        @Element(sequence = 3, value = "4", validation = "\"box \"")
+        String name;
+        @Element(sequence = 4, value = "$1 - 12")
+        byte[] data;
+    }
+
+    /** writes records of ids [from, to) */
+    private static void test45Write(OutputStream os, int from, int to) throws IOException {
+        for (int i = from; i < to; i++) {
+            Test45 bean = new Test45();
+            bean.data = new byte[1 + i % 7];
+            bean.length = 12 + bean.data.length;
+            bean.id = 1000 - i;
+            bean.name = "box ";
+            Serdes.Util.serialize(bean, os);
+        }
+    }
+
+    @Test
+    @DisplayName("record index")
+    void test45() throws Exception {
+        Path file = Files.createTempFile("test45", ".bin");
+        Path sidecar = RecordIndex.sidecar(file);
+        file.toFile().deleteOnExit();
+        sidecar.toFile().deleteOnExit();
+        try (OutputStream os = Files.newOutputStream(file)) {
+            test45Write(os, 0, 100);
+        }
+
+        RecordIndex<Test45> index = RecordIndex.update(file, Test45.class, "id");
+        assertTrue(Files.exists(sidecar));
+        assertEquals(100, index.size());
+        assertEquals(12 + 1 + 57 % 7, index.length(57));
+        try (FileChannel channel = FileChannel.open(file)) {
+            Test45 bean = index.get(channel, index.indexOf(1000 - 57));
+            assertEquals(1000 - 57, bean.id);
+            assertEquals(1 + 57 % 7, bean.data.length);
+            assertEquals(index.offset(58), channel.position());
+        }
+        assertEquals(-1, index.indexOf(5000));
+
+        // appended records and an incomplete one
+        try (OutputStream os = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            test45Write(os, 100, 150);
+            os.write(new byte[] {0, 0, 0, 20, 0});
+        }
+        // a broken record before the tail shows that records indexed are not scanned again
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap("xxxx".getBytes()), 8);
+        }
+        index = RecordIndex.update(file, Test45.class, "id");
+        assertEquals(150, index.size());
+        assertEquals(Files.size(file) - 5, index.offset(149) + index.length(149));
+        try (FileChannel channel = FileChannel.open(file)) {
+            assertEquals(1000 - 120, index.get(channel, index.indexOf(1000 - 120)).id);
+        }
+
+        // another key rebuilds
+        assertThrows(IllegalArgumentException.class, () -> RecordIndex.update(file, Test45.class, "data"));
+        assertThrows(IllegalArgumentException.class, () -> RecordIndex.update(file, Test45.class, "name")); // validation
+        RecordIndex<Test45> noKey = RecordIndex.update(file, Test45.class);
+        assertThrows(IllegalStateException.class, () -> noKey.indexOf(1));
+
+        // a sidecar of another key type rebuilds
+        RecordIndex.update(file, Test45.class, "id");
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'S'}), 4 + 4 + 2 + Test45.class.getName().length() + 2 + "id".length());
+        }
+        index = RecordIndex.update(file, Test45.class, "id");
+        assertEquals(150, index.size());
+        assertEquals(120, index.indexOf(1000 - 120));
+    }
+
+    @Test
+    @DisplayName("record index, keys of appended records are merged")
+    void test45_2() throws Exception {
+        Path file = Files.createTempFile("test45_2", ".bin");
+        Path sidecar = RecordIndex.sidecar(file);
+        file.toFile().deleteOnExit();
+        sidecar.toFile().deleteOnExit();
+        try (OutputStream os = Files.newOutputStream(file)) {
+            test45Write(os, 0, 30);
+        }
+        RecordIndex.update(file, Test45.class, "id");
+        try (OutputStream os = Files.newOutputStream(file, StandardOpenOption.APPEND)) {
+            test45Write(os, 40, 50);
+            test45Write(os, 20, 40); // duplicated keys of 20 to 29
+        }
+        RecordIndex<Test45> index = RecordIndex.update(file, Test45.class, "id");
+        assertEquals(60, index.size());
+        for (int i = 0; i < 50; i++) {
+            int expected = i < 30 ? i : i < 40 ? i + 20 : i - 10;
+            assertEquals(expected, index.indexOf(1000 - i), "id: " + (1000 - i));
+        }
+        assertEquals(-1, index.indexOf(1000 - 50));
+    }
+
+    public interface Test46Fixed {
+        int getUs();
+        @Element(sequence = 13)
+        long tail();
+        String name();
+        int[] ints();
+        boolean isF();
+        default long twice() {
+            return tail() * 2;
+        }
+    }
+
+    public interface Test46Variable {
+        int getId();
+        byte[] data();
+    }
+
+    @Test
+    @DisplayName("flyweight")
+    void test46() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int i = 0; i < 10; i++) {
+            Test43 bean = new Test43();
+            bean.f = i % 2 == 0;
+            bean.us = i;
+            bean.boxed = 0;
+            bean.ints = new int[] {i, i, i};
+            bean.name = "name" + i + "xy";
+            bean.l = -i;
+            Serdes.Util.serialize(bean, baos);
+        }
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test46", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        for (Object source : List.of(bytes, file)) {
+            Flyweight<Test46Fixed> flyweight = Flyweight.of(Test46Fixed.class, Test43.class, source);
+            Test46Fixed view = flyweight.view();
+            int i = 0;
+            for (boolean b = flyweight.hasRecord(); b; b = flyweight.next(), i++) {
+                assertEquals(i, view.getUs());
+                assertEquals(-i, view.tail());
+                assertEquals(-2 * i, view.twice());
+                assertEquals("name" + i + "xy", view.name());
+                assertArrayEquals(new int[] {i, i, i}, view.ints());
+                assertEquals(i % 2 == 0, view.isF());
+            }
+            assertEquals(10, i);
+            flyweight.position(59 * 7);
+            assertEquals(7, view.getUs());
+        }
+
+        baos.reset();
+        test45Write(baos, 0, 100);
+        Flyweight<Test46Variable> flyweight = Flyweight.of(Test46Variable.class, Test45.class, ByteBuffer.wrap(baos.toByteArray()));
+        Test46Variable view = flyweight.view();
+        int i = 0;
+        for (boolean b = flyweight.hasRecord(); b; b = flyweight.next(), i++) {
+            assertEquals(1000 - i, view.getId());
+            assertEquals(1 + i % 7, view.data().length);
+            assertEquals(12 + 1 + i % 7, flyweight.length());
+        }
+        assertEquals(100, i);
+        assertThrows(IllegalStateException.class, view::getId);
+
+        assertThrows(IllegalArgumentException.class, () -> Flyweight.of(Test46Variable.class, Test43.class, bytes));
+    }
+
+    @Serdes(bigEndian = false)
+    public static class Test47 {
+        @Element(sequence = 1)
+        int count;
+        @Element(sequence = 2, value = "$1")
+        Columns<Test43> fixed;
+        @Element(sequence = 3)
+        int count2;
+        @Element(sequence = 4, value = "$3")
+        Columns<Test45> variable;
+    }
+
+    @Test
+    @DisplayName("columns")
+    void test47() throws Exception {
+        int n = 3000; // over a chunk
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LittleEndianDataOutputStream ledos = new LittleEndianDataOutputStream(baos);
+        ledos.writeInt(n);
+        Test47 source = new Test47();
+        source.count = n;
+        source.fixed = Columns.of(Test43.class, n);
+        List<Test43> beans = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            Test43 bean = new Test43();
+            bean.f = i % 3 == 0;
+            bean.b = (byte) i;
+            bean.s = (short) -i;
+            bean.us = i * 20 & 0xffff;
+            bean.ui = 0xffff_0000L + i;
+            bean.boxed = i * 7;
+            bean.c = (char) ('あ' + i % 10);
+            bean.x = i / 2f;
+            bean.y = i / 3d;
+            bean.ints = new int[] {i, -i, i * i};
+            bean.name = String.format("n%06d", i);
+            bean.l = -i * 1000L;
+            beans.add(bean);
+            source.fixed.set(i, bean);
+            Serdes.Util.serialize(bean, ledos); // little endian as the holder
+        }
+        source.count2 = 20;
+        source.variable = Columns.of(Test45.class, 20);
+        for (int i = 0; i < 20; i++) {
+            Test45 bean = new Test45();
+            bean.data = new byte[1 + i % 7];
+            bean.length = 12 + bean.data.length;
+            bean.id = 1000 - i;
+            bean.name = "box ";
+            source.variable.set(i, bean);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serdes.Util.serialize(source, out);
+        byte[] bytes = out.toByteArray();
+        assertArrayEquals(baos.toByteArray(), Arrays.copyOf(bytes, baos.size()));
+
+        for (Object in : List.of(bytes, new ByteArrayInputStream(bytes))) {
+            Test47 test = Serdes.Util.deserialize(in, new Test47());
+            Columns<Test43> fixed = test.fixed;
+            assertEquals(n, fixed.size());
+            assertEquals(Test43.class, fixed.type());
+            for (int i = 0; i < n; i++) {
+                Test43 bean = beans.get(i);
+                assertEquals(bean.f, fixed.booleans("f")[i]);
+                assertEquals(bean.b, fixed.bytes("b")[i]);
+                assertEquals(bean.s, fixed.shorts("s")[i]);
+                assertEquals(bean.us, fixed.ints("us")[i]);
+                assertEquals(bean.ui, fixed.longs("ui")[i]);
+                assertEquals(bean.boxed, fixed.ints("boxed")[i]);
+                assertEquals(bean.c, fixed.chars("c")[i]);
+                assertEquals(bean.x, fixed.floats("x")[i]);
+                assertEquals(bean.y, fixed.doubles("y")[i]);
+                assertArrayEquals(bean.ints, fixed.objects("ints", int[].class)[i]);
+                assertEquals(bean.name, fixed.objects("name", String.class)[i]);
+                assertEquals(bean.l, fixed.longs("l")[i]);
+            }
+            assertEquals(beans.get(123).name, fixed.get(123).name);
+            assertEquals(20, test.variable.size());
+            assertEquals(1000 - 19, test.variable.ints("id")[19]);
+            assertEquals(1 + 19 % 7, test.variable.objects("data", byte[].class)[19].length);
+
+            out.reset();
+            Serdes.Util.serialize(test, out);
+            assertArrayEquals(bytes, out.toByteArray());
+        }
+
+        Columns<Test43> columns = Columns.read(ByteBuffer.wrap(bytes, 4, 59 * 10).slice(), Test43.class, 10);
+        assertArrayEquals(new long[] {0, -1000, -2000, -3000, -4000, -5000, -6000, -7000, -8000, -9000}, columns.longs("l"));
+        assertThrows(IllegalArgumentException.class, () -> columns.ints("l"));
+        assertThrows(IllegalArgumentException.class, () -> columns.column("none"));
+    }
+
+    @Test
+    @DisplayName("filtered scan")
+    void test48() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        test45Write(baos, 0, 100);
+        byte[] bytes = baos.toByteArray();
+        bytes[13 + 8] = 'x'; // name of the record 1, not validated because it is skipped
+        Path file = Files.createTempFile("test48", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (Object source : List.of(bytes, new ByteArrayInputStream(bytes), file, channel)) {
+                try (FilteredScan<Test45> scan = FilteredScan.of(source, Test45.class, Set.of("id"), b -> b.id % 10 == 0)) {
+                    List<Test45> beans = new ArrayList<>();
+                    for (Test45 bean = scan.next(); bean != null; bean = scan.next()) {
+                        beans.add(bean);
+                    }
+                    assertEquals(10, beans.size());
+                    assertEquals(100, scan.scanned());
+                    assertEquals(10, scan.accepted());
+                    for (int i = 0; i < 10; i++) {
+                        Test45 bean = beans.get(i);
+                        assertEquals(1000 - i * 10, bean.id);
+                        assertEquals("box ", bean.name);
+                        assertEquals(1 + i * 10 % 7, bean.data.length);
+                    }
+                }
+            }
+            assertEquals(bytes.length, channel.position());
+        }
+
+        // an accepted record is decoded fully, and validated
+        FilteredScan<Test45> scan = FilteredScan.of(bytes, Test45.class, Set.of("id"), b -> b.id == 999);
+        assertThrows(IllegalArgumentException.class, scan::next);
+        assertThrows(IllegalArgumentException.class, () -> FilteredScan.of(bytes, Test45.class, Set.of("none"), b -> true));
+
+        // a record without bytes
+        FilteredScan<Test51Empty> empty = FilteredScan.of(new byte[] {1, 2, 3}, Test51Empty.class, Set.of("i"), b -> false);
+        assertThrows(IllegalStateException.class, empty::next);
+    }
+
+    @Test
+    @DisplayName("stream")
+    void test49() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        test45Write(baos, 0, 100);
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test49", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (Object source : List.of(bytes, new ByteArrayInputStream(bytes), file, channel)) {
+                try (Stream<Test45> stream = Serdes.Util.stream(source, Test45.class)) {
+                    List<Test45> beans = stream.toList();
+                    assertEquals(100, beans.size());
+                    assertEquals(1000 - 99, beans.get(99).id);
+                    assertEquals(1 + 99 % 7, beans.get(99).data.length);
+                }
+            }
+            assertEquals(bytes.length, channel.position());
+        }
+
+        // recycling, arrays are read in place
+        baos.reset();
+        for (int i = 0; i < 10; i++) {
+            Test43 bean = new Test43();
+            bean.boxed = i;
+            bean.ints = new int[] {i, i, i};
+            bean.name = "";
+            Serdes.Util.serialize(bean, baos);
+        }
+        Set<Object> beans = new HashSet<>();
+        Set<Object> arrays = new HashSet<>();
+        try (Stream<Test43> stream = Serdes.Util.stream(new ByteArrayInputStream(baos.toByteArray()), Test43.class, true)) {
+            assertEquals(45, stream.peek(beans::add).peek(b -> arrays.add(b.ints)).mapToInt(b -> b.ints[1]).sum());
+        }
+        assertEquals(1, beans.size());
+        assertEquals(1, arrays.size());
+
+        // an incomplete last record
+        try (Stream<Test45> stream = Serdes.Util.stream(Arrays.copyOf(bytes, bytes.length - 1), Test45.class)) {
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, stream::count);
+            assertInstanceOf(EOFException.class, e.getCause());
+        }
+    }
+
+    @Serdes(bigEndian = false)
+    public static class Test50 {
+        @Element(sequence = 1)
+        int count;
+        @Element(sequence = 2, value = "$1")
+        LazyList<Test43> fixed;
+        @Element(sequence = 3)
+        int length;
+        @Element(sequence = 4, value = "$3")
+        LazyList<Test45> variable;
+        @Element(sequence = 5)
+        long tail;
+    }
+
+    @Test
+    @DisplayName("lazy list")
+    void test50() throws Exception {
+        int n = 1000;
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        LittleEndianDataOutputStream ledos = new LittleEndianDataOutputStream(baos);
+        ledos.writeInt(n);
+        for (int i = 0; i < n; i++) {
+            Test43 bean = new Test43();
+            bean.us = i;
+            bean.boxed = i;
+            bean.ints = new int[] {i, i, i};
+            bean.name = "";
+            Serdes.Util.serialize(bean, ledos);
+        }
+        // little endian records of a big endian class, by a little endian parent
+        Test47 columns = new Test47();
+        columns.fixed = Columns.of(Test43.class, 0);
+        columns.count2 = 20;
+        columns.variable = Columns.of(Test45.class, 20);
+        for (int i = 0; i < 20; i++) {
+            Test45 bean = new Test45();
+            bean.data = new byte[1 + i % 7];
+            bean.length = 12 + bean.data.length;
+            bean.id = 1000 - i;
+            bean.name = "box ";
+            columns.variable.set(i, bean);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Serdes.Util.serialize(columns, out);
+        byte[] variable = Arrays.copyOfRange(out.toByteArray(), 8, out.size());
+        ledos.writeInt(variable.length);
+        ledos.write(variable);
+        ledos.writeLong(0x1234_5678_9abcL);
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test50", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, bytes);
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (Object source : List.of(bytes, new ByteArrayInputStream(bytes), file, channel)) {
+                Test50 test = Serdes.Util.deserialize(source, new Test50());
+                assertEquals(0x1234_5678_9abcL, test.tail);
+
+                assertInstanceOf(RandomAccess.class, test.fixed);
+                assertEquals(n, test.fixed.size());
+                assertEquals(777, test.fixed.get(777).us);
+                assertEquals(n * (n - 1) / 2, test.fixed.parallelStream().mapToInt(b -> b.boxed).sum());
+                assertEquals(n - 1, test.fixed.stream().skip(n - 1).findFirst().get().ints[2]);
+                assertThrows(IndexOutOfBoundsException.class, () -> test.fixed.get(n));
+
+                assertEquals(1000 - 5, test.variable.get(5).id);
+                assertEquals(1000 - 19, test.variable.stream().reduce((a, b) -> b).get().id);
+                assertEquals(20, test.variable.size());
+                assertEquals(1 + 12 % 7, test.variable.get(12).data.length);
+                assertThrows(IndexOutOfBoundsException.class, () -> test.variable.get(20));
+                assertThrows(UnsupportedOperationException.class, () -> test.variable.add(new Test45()));
+
+                out.reset();
+                Serdes.Util.serialize(test, out);
+                assertArrayEquals(bytes, out.toByteArray());
+            }
+        }
+    }
+
+    @Serdes
+    public static class Test51Empty {
+        @Element(sequence = 1, condition = "condition")
+        int i;
+        boolean condition(int sequence) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("parallel decoder")
+    void test51() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(new byte[5]); // header
+        test45Write(baos, 0, 2000);
+        byte[] bytes = baos.toByteArray();
+        Path file = Files.createTempFile("test51", ".bin");
+        file.toFile().deleteOnExit();
+        Files.write(file, Arrays.copyOfRange(bytes, 5, bytes.length));
+
+        List<Integer> expected;
+        try (Stream<Test45> stream = Serdes.Util.stream(ByteBuffer.wrap(bytes, 5, bytes.length - 5), Test45.class)) {
+            expected = stream.map(b -> b.id).toList();
+        }
+        try (FileChannel channel = FileChannel.open(file)) {
+            for (Object source : List.of(ByteBuffer.wrap(bytes, 5, bytes.length - 5), file, channel)) {
+                ParallelDecoder<Test45> decoder = ParallelDecoder.of(source, Test45.class);
+                assertEquals(2000, decoder.size());
+                assertEquals(12 + 1 + 12 + 2, decoder.offset(2));
+                List<Test45> beans = decoder.decode();
+                assertEquals(expected, beans.stream().map(b -> b.id).toList());
+                assertEquals(1 + 1999 % 7, beans.get(1999).data.length);
+                assertEquals(expected.stream().mapToInt(Integer::intValue).sum(), decoder.stream(false).mapToInt(b -> b.id).sum());
+            }
+            assertEquals(0, channel.position());
+        }
+
+        // fixed size records
+        baos.reset();
+        for (int i = 0; i < 500; i++) {
+            Test43 bean = new Test43();
+            bean.boxed = i;
+            bean.ints = new int[3];
+            bean.name = "";
+            Serdes.Util.serialize(bean, baos);
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<Test43> beans = ParallelDecoder.of(baos.toByteArray(), Test43.class).decode(pool);
+            assertEquals(500, beans.size());
+            assertEquals(499, beans.get(499).boxed);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThrows(EOFException.class, () -> ParallelDecoder.of(Arrays.copyOfRange(bytes, 5, bytes.length - 1), Test45.class));
+        assertThrows(IllegalStateException.class, () -> ParallelDecoder.of(new byte[] {1, 2, 3}, Test51Empty.class));
+    }
+
+    @Test
+    @DisplayName("parallel encoder")
+    void test52() throws Exception {
+        List<Object> beans = new ArrayList<>();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 5000; i++) {
+            Object bean;
+            if (i % 100 == 99) {
+                Test43 test43 = new Test43();
+                test43.boxed = i;
+                test43.ints = new int[] {i, i, i};
+                test43.name = "";
+                bean = test43;
+            } else {
+                Test45 test45 = new Test45();
+                test45.data = new byte[i == 1234 ? 100_000 : 1 + i % 7]; // larger than a buffer
+                test45.length = 12 + test45.data.length;
+                test45.id = i;
+                test45.name = "box ";
+                bean = test45;
+            }
+            beans.add(bean);
+            Serdes.Util.serialize(bean, expected);
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertEquals(expected.size(), ParallelEncoder.of(baos).window(3).batch(100).write(beans));
+        assertArrayEquals(expected.toByteArray(), baos.toByteArray());
+
+        Path file = Files.createTempFile("test52", ".bin");
+        file.toFile().deleteOnExit();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ParallelEncoder.of(channel).batch(7).write(beans);
+        }
+        assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+
+        Test45 invalid = new Test45();
+        invalid.data = new byte[1];
+        invalid.name = "long name";
+        assertThrows(IllegalArgumentException.class, () -> ParallelEncoder.of(new ByteArrayOutputStream()).write(List.of(invalid)));
+
+        // a short source of a region is not a short buffer
+        Files.write(file, new byte[10]);
+        try (FileChannel channel = FileChannel.open(file)) {
+            Test40 region = new Test40();
+            region.offset = 4 + 4 + 100;
+            region.data = Region.of(channel, 0, 100);
+            assertThrows(EOFException.class, () -> ParallelEncoder.of(new ByteArrayOutputStream()).write(List.of(region)));
+        }
+    }
+
     @AfterAll
     static void teardown() throws Exception {
         if (Boolean.parseBoolean(System.getProperty("vavi.util.serdes.cache.statistics", "false")))